@@ -24,6 +24,7 @@
 package org.jenkinsci.lib.dtkit.model;
 
 
+import org.jenkinsci.lib.dtkit.util.io.ResourceCache;
 import org.jenkinsci.lib.dtkit.util.validator.ValidationError;
 import org.jenkinsci.lib.dtkit.util.validator.ValidationException;
 import org.jenkinsci.lib.dtkit.util.validator.ValidationService;
@@ -31,6 +32,7 @@ import org.jenkinsci.lib.dtkit.util.validator.ValidationService;
 import javax.xml.bind.annotation.adapters.XmlAdapter;
 import javax.xml.transform.stream.StreamSource;
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -57,8 +59,12 @@ public abstract class AbstractOutputMetric implements OutputMetric {
         }
 
         StreamSource[] streamSources = new StreamSource[getXsdNameList().length];
-        for (int i = 0; i < streamSources.length; i++) {
-            streamSources[i] = new StreamSource(this.getClass().getResourceAsStream(getXsdNameList()[i]));
+        try {
+            for (int i = 0; i < streamSources.length; i++) {
+                streamSources[i] = ResourceCache.getSource(this.getClass(), getXsdNameList()[i]);
+            }
+        } catch (IOException e) {
+            throw new ValidationException("Unable to read the schema", e);
         }
 
         ValidationService validationService = new ValidationService();
@@ -0,0 +1,166 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the tools that may have produced a report from its root element
+ * only, instead of trying to validate the report with each tool.
+ * <p>
+ * The {@link InputMetricXSL#getRootElementSignatures() root element
+ * signatures} of the tools are read once, when the detector is created,
+ * and indexed by local name. Detecting the format of a report then reads
+ * only its prolog and root element. A detector is thread safe.
+ */
+public final class FormatDetector {
+
+    /**
+     * A tool that may have produced a report.
+     */
+    public static final class Candidate implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final InputMetricXSL inputMetric;
+        private final RootElementSignature signature;
+        private final int score;
+
+        Candidate(InputMetricXSL inputMetric, RootElementSignature signature, int score) {
+            this.inputMetric = inputMetric;
+            this.signature = signature;
+            this.score = score;
+        }
+
+        public InputMetricXSL getInputMetric() {
+            return inputMetric;
+        }
+
+        /**
+         * @return the signature that matched the root element
+         */
+        public RootElementSignature getSignature() {
+            return signature;
+        }
+
+        /**
+         * @return the confidence of the match, higher when the signature
+         *         has a namespace or attributes
+         * @see RootElementSignature#match(RootElement)
+         */
+        public int getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return inputMetric.getLabel() + " " + signature + " (" + score + ")";
+        }
+    }
+
+    private static final class Entry {
+        private final InputMetricXSL inputMetric;
+        private final RootElementSignature signature;
+
+        private Entry(InputMetricXSL inputMetric, RootElementSignature signature) {
+            this.inputMetric = inputMetric;
+            this.signature = signature;
+        }
+    }
+
+    private final Map<String, List<Entry>> index = new HashMap<>();
+
+    /**
+     * Creates a detector of the given tools. The tools whose signatures can
+     * not be read are ignored.
+     *
+     * @param inputMetrics the tools, the first ones win ties
+     */
+    public FormatDetector(Collection<? extends InputMetricXSL> inputMetrics) {
+        for (InputMetricXSL inputMetric : inputMetrics) {
+            List<RootElementSignature> signatures;
+            try {
+                signatures = inputMetric.getRootElementSignatures();
+            } catch (IOException | RuntimeException e) {
+                continue;
+            }
+            for (RootElementSignature signature : signatures) {
+                List<Entry> entries = index.get(signature.getLocalName());
+                if (entries == null) {
+                    entries = new ArrayList<>();
+                    index.put(signature.getLocalName(), entries);
+                }
+                entries.add(new Entry(inputMetric, signature));
+            }
+        }
+    }
+
+    /**
+     * Returns the tools that may have produced the given report. The report
+     * may be gzip compressed.
+     *
+     * @param file the report
+     * @return the candidates ranked by decreasing score, empty if the file is
+     *         not an XML document or no tool matches
+     * @throws IOException in case of read error
+     */
+    public List<Candidate> detect(File file) throws IOException {
+        RootElement root = RootElement.read(file);
+        return root == null ? Collections.<Candidate>emptyList() : detect(root);
+    }
+
+    /**
+     * Returns the tools whose signature matches the given root element.
+     *
+     * @param root the root element of a report
+     * @return the candidates ranked by decreasing score, a tool appears once
+     *         with its best signature
+     */
+    public List<Candidate> detect(RootElement root) {
+        List<Entry> entries = index.get(root.getLocalName());
+        if (entries == null) {
+            return Collections.emptyList();
+        }
+        Map<InputMetricXSL, Candidate> best = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            int score = entry.signature.match(root);
+            Candidate current = best.get(entry.inputMetric);
+            if (score > 0 && (current == null || score > current.getScore())) {
+                best.put(entry.inputMetric, new Candidate(entry.inputMetric, entry.signature, score));
+            }
+        }
+        List<Candidate> candidates = new ArrayList<>(best.values());
+        // stable sort, the registration order is kept for the same score
+        candidates.sort((c1, c2) -> Integer.compare(c2.getScore(), c1.getScore()));
+        return candidates;
+    }
+}
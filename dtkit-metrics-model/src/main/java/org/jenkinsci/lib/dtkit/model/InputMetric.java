@@ -175,6 +175,59 @@ public abstract class InputMetric implements Serializable {
      */
     public abstract void convert(File inputFile, File outFile, Map<String, Object> params) throws ConversionException;
 
+    /**
+     * Converts an input file to an output file and validates the output file.
+     * <p>
+     * By default the output file is validated by
+     * {@link #validateOutputFile(File)} after the conversion. Subclasses can
+     * validate the output while it is produced.
+     *
+     * @param inputFile
+     *            the input file to convert
+     * @param outFile
+     *            the output file to convert
+     * @param params
+     *            the conversion parameters
+     * @return true if the output file is valid, false otherwise
+     * @throws org.jenkinsci.lib.dtkit.util.converter.ConversionException
+     *             when there is an error of conversion
+     * @throws org.jenkinsci.lib.dtkit.util.validator.ValidationException
+     *             when there is an error of validation
+     */
+    public boolean convertAndValidateOutput(File inputFile, File outFile, Map<String, Object> params) throws ConversionException, ValidationException {
+        convert(inputFile, outFile, params);
+        return validateOutputFile(outFile);
+    }
+
+    /**
+     * Validates an input file and converts it to an output file if it is
+     * valid.
+     * <p>
+     * By default the input file is validated by
+     * {@link #validateInputFile(File)} before the conversion. Subclasses can
+     * validate and convert the input file with a single parse.
+     *
+     * @param inputFile
+     *            the input file to validate and convert
+     * @param outFile
+     *            the output file to convert
+     * @param params
+     *            the conversion parameters
+     * @return true if the input file is valid and has been converted, false
+     *         otherwise
+     * @throws org.jenkinsci.lib.dtkit.util.converter.ConversionException
+     *             when there is an error of conversion
+     * @throws org.jenkinsci.lib.dtkit.util.validator.ValidationException
+     *             when there is an error of validation
+     */
+    public boolean validateInputAndConvert(File inputFile, File outFile, Map<String, Object> params) throws ConversionException, ValidationException {
+        if (!validateInputFile(inputFile)) {
+            return false;
+        }
+        convert(inputFile, outFile, params);
+        return true;
+    }
+
     /**
      * Gives the validation process for the input file.
      * 
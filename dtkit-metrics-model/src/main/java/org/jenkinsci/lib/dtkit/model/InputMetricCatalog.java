@@ -0,0 +1,252 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * The tools described by {@link InputMetricDescriptor}, read from the
+ * catalogs generated at compile time in each jar, so that tools are
+ * discovered without scanning classes.
+ * <p>
+ * A catalog is a UTF-8 text file with a line per tool and the values
+ * separated by tabs: class name, tool name, tool version, tool type, XSL
+ * name and input XSD names separated by commas. Lines starting with
+ * {@code #} are comments.
+ * <p>
+ * The catalog is a discovery API only: the tools are still created from
+ * their class by {@link InputMetricFactory}.
+ */
+public final class InputMetricCatalog {
+
+    /**
+     * The location of the catalogs in the class path.
+     */
+    public static final String RESOURCE_NAME = "META-INF/dtkit/input-metrics.list";
+
+    /**
+     * A tool of the catalog.
+     */
+    public static final class Entry {
+        private final String className;
+        private final String toolName;
+        private final String toolVersion;
+        private final InputType toolType;
+        private final String xslName;
+        private final List<String> inputXsdNames;
+        private final ClassLoader classLoader;
+
+        Entry(String className, String toolName, String toolVersion, InputType toolType, String xslName, List<String> inputXsdNames, ClassLoader classLoader) {
+            this.className = className;
+            this.toolName = toolName;
+            this.toolVersion = toolVersion;
+            this.toolType = toolType;
+            this.xslName = xslName;
+            this.inputXsdNames = Collections.unmodifiableList(inputXsdNames);
+            this.classLoader = classLoader;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getToolName() {
+            return toolName;
+        }
+
+        /**
+         * @return the tool version, {@code null} if none
+         */
+        public String getToolVersion() {
+            return toolVersion;
+        }
+
+        public InputType getToolType() {
+            return toolType;
+        }
+
+        /**
+         * @return the XSL resource name, {@code null} if none
+         */
+        public String getXslName() {
+            return xslName;
+        }
+
+        public List<String> getInputXsdNames() {
+            return inputXsdNames;
+        }
+
+        /**
+         * Loads the tool class, without initializing it.
+         *
+         * @return the tool class
+         * @throws InputMetricException if the class could not be loaded
+         */
+        public Class<? extends InputMetric> getInputMetricClass() throws InputMetricException {
+            try {
+                return Class.forName(className, false, classLoader).asSubclass(InputMetric.class);
+            } catch (ClassNotFoundException | ClassCastException e) {
+                throw new InputMetricException(e);
+            }
+        }
+
+        /**
+         * @return a new instance of the tool
+         * @throws InputMetricException if the tool could not be created
+         */
+        public InputMetric newInstance() throws InputMetricException {
+            return InputMetricFactory.getInstance(getInputMetricClass());
+        }
+
+        /**
+         * Checks that the catalog values are the ones returned by the
+         * getters of a new instance of the tool, since nothing else keeps
+         * the {@link InputMetricDescriptor} and the getters in sync. Tools
+         * call it from their tests.
+         *
+         * @throws InputMetricException if the tool could not be created or
+         *                              if a value differs
+         */
+        public void verify() throws InputMetricException {
+            InputMetric inputMetric = newInstance();
+            String actualXslName = null;
+            List<String> actualInputXsdNames = Collections.emptyList();
+            if (inputMetric instanceof InputMetricXSL) {
+                InputMetricXSL inputMetricXSL = (InputMetricXSL) inputMetric;
+                actualXslName = inputMetricXSL.getXslName();
+                if (inputMetricXSL.getInputXsdNameList() != null) {
+                    actualInputXsdNames = Arrays.asList(inputMetricXSL.getInputXsdNameList());
+                }
+            }
+            String expected = toString();
+            String actual = inputMetric.getToolType() == null ? null : format(className, inputMetric.getToolName(), inputMetric.getToolVersion(), inputMetric.getToolType(), actualXslName, actualInputXsdNames);
+            if (!expected.equals(actual)) {
+                throw new InputMetricException("The @InputMetricDescriptor of " + className + " does not match its getters, expected [" + expected + "] but was [" + actual + "]");
+            }
+        }
+
+        @Override
+        public String toString() {
+            return format(className, toolName, toolVersion, toolType, xslName, inputXsdNames);
+        }
+    }
+
+    private InputMetricCatalog() {
+    }
+
+    /**
+     * Reads all the catalogs visible from the given class loader.
+     *
+     * @param classLoader the class loader of the tools
+     * @return the tools, in the order of the catalogs in the class path
+     * @throws IOException if a catalog could not be read
+     */
+    public static List<Entry> load(ClassLoader classLoader) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        Enumeration<URL> catalogs = classLoader.getResources(RESOURCE_NAME);
+        while (catalogs.hasMoreElements()) {
+            URL catalog = catalogs.nextElement();
+            try (InputStream input = catalog.openStream()) {
+                for (String line : readLines(input)) {
+                    try {
+                        entries.add(parse(line, classLoader));
+                    } catch (IllegalArgumentException e) {
+                        throw new IOException("Invalid line in " + catalog + ": " + line, e);
+                    }
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Reads the lines of a catalog, without the comments and blank lines.
+     *
+     * @param input the catalog, not closed
+     * @return the lines
+     * @throws IOException in case of read error
+     */
+    public static List<String> readLines(InputStream input) throws IOException {
+        List<String> lines = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.trim().isEmpty() && !line.startsWith("#")) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Formats a catalog line, empty strings stand for missing values.
+     *
+     * @param className     the tool class name
+     * @param toolName      the tool name
+     * @param toolVersion   the tool version, could be {@code null}
+     * @param toolType      the tool type
+     * @param xslName       the XSL resource name, could be {@code null}
+     * @param inputXsdNames the input XSD resource names
+     * @return the line, without line separator
+     */
+    public static String format(String className, String toolName, String toolVersion, InputType toolType, String xslName, List<String> inputXsdNames) {
+        return className + '\t' + toolName + '\t' + nullToEmpty(toolVersion) + '\t' + toolType.name() + '\t' + nullToEmpty(xslName) + '\t' + String.join(",", inputXsdNames);
+    }
+
+    /**
+     * @param line a catalog line
+     * @return the class name of the tool of the line
+     */
+    public static String getClassName(String line) {
+        int end = line.indexOf('\t');
+        return end == -1 ? line : line.substring(0, end);
+    }
+
+    static Entry parse(String line, ClassLoader classLoader) {
+        String[] values = line.split("\t", -1);
+        if (values.length != 6) {
+            throw new IllegalArgumentException("Expected 6 values, found " + values.length);
+        }
+        List<String> inputXsdNames = values[5].isEmpty() ? Collections.<String>emptyList() : Arrays.asList(values[5].split(","));
+        return new Entry(values[0], values[1], emptyToNull(values[2]), InputType.valueOf(values[3]), emptyToNull(values[4]), inputXsdNames, classLoader);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.model;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Describes a tool so that it is listed in the {@link InputMetricCatalog}
+ * generated at compile time, where it can be found without loading or
+ * instantiating the tool class.
+ * <p>
+ * The annotated class must be a concrete subclass of {@link InputMetric}
+ * with a public constructor without arguments. The values must be the
+ * ones returned by the getters of the tool, which
+ * {@link InputMetricCatalog.Entry#verify()} checks.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface InputMetricDescriptor {
+
+    /**
+     * @return the tool name
+     */
+    String toolName();
+
+    /**
+     * @return the tool version, empty if none
+     */
+    String toolVersion() default "";
+
+    /**
+     * @return the tool type
+     */
+    InputType toolType();
+
+    /**
+     * @return the XSL resource name, empty if none
+     */
+    String xslName() default "";
+
+    /**
+     * @return the input XSD resource names
+     */
+    String[] inputXsdNames() default {};
+}
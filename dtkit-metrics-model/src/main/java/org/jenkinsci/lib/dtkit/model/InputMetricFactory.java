@@ -23,35 +23,105 @@
  */
 package org.jenkinsci.lib.dtkit.model;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
+/**
+ * Creates the tools. The constructors are looked up once per class and
+ * kept as method handles, released with their class.
+ */
 public class InputMetricFactory {
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType DEFAULT_CONSTRUCTOR_TYPE = MethodType.methodType(InputMetric.class);
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(InputMetric.class, Object[].class);
+
+    /**
+     * The default constructor of each class, or the failure of its lookup.
+     */
+    private static final ClassValue<Object> DEFAULT_CONSTRUCTORS = new ClassValue<Object>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            try {
+                return LOOKUP.unreflectConstructor(type.getDeclaredConstructor()).asType(DEFAULT_CONSTRUCTOR_TYPE);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return e;
+            }
+        }
+    };
+
+    /**
+     * The constructors of each class by parameter types.
+     */
+    private static final ClassValue<ConcurrentMap<List<Class<?>>, MethodHandle>> CONSTRUCTORS = new ClassValue<ConcurrentMap<List<Class<?>>, MethodHandle>>() {
+        @Override
+        protected ConcurrentMap<List<Class<?>>, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     public static InputMetric getInstance(Class<? extends InputMetric> classInputMetric) throws InputMetricException {
 
+        Object constructor = DEFAULT_CONSTRUCTORS.get(classInputMetric);
+        if (constructor instanceof Exception) {
+            throw new InputMetricException((Exception) constructor);
+        }
         try {
-            return classInputMetric.newInstance();
-        } catch (InstantiationException ie) {
-            throw new InputMetricException(ie);
-        } catch (IllegalAccessException iae) {
-            throw new InputMetricException(iae);
+            return (InputMetric) ((MethodHandle) constructor).invokeExact();
+        } catch (RuntimeException | Error e) {
+            // thrown by the constructor, as Class.newInstance did
+            throw e;
+        } catch (Throwable t) {
+            throw new InputMetricException(t);
         }
     }
 
     public static InputMetric getInstanceWithNoDefaultConstructor(Class<? extends InputMetric> classInputMetric, Class<?>[] parameterTypes, Object[] parameters) throws InputMetricException {
+        ConcurrentMap<List<Class<?>>, MethodHandle> constructors = CONSTRUCTORS.get(classInputMetric);
+        List<Class<?>> key = Arrays.asList(parameterTypes.clone());
+        MethodHandle constructor = constructors.get(key);
+        if (constructor == null) {
+            try {
+                constructor = LOOKUP.unreflectConstructor(classInputMetric.getDeclaredConstructor(parameterTypes))
+                        .asSpreader(Object[].class, parameterTypes.length)
+                        .asType(CONSTRUCTOR_TYPE);
+            } catch (ReflectiveOperationException e) {
+                throw new InputMetricException(e);
+            }
+            constructors.putIfAbsent(key, constructor);
+        }
+        checkArguments(parameterTypes, parameters);
         try {
-            Constructor<? extends InputMetric> constructor = classInputMetric.getDeclaredConstructor(parameterTypes);
-            return constructor.newInstance(parameters);
-        } catch (InstantiationException ie) {
-            throw new InputMetricException(ie);
-        } catch (IllegalAccessException iae) {
-            throw new InputMetricException(iae);
-        } catch (NoSuchMethodException e) {
-            throw new InputMetricException(e);
-        } catch (InvocationTargetException e) {
-            throw new InputMetricException(e);
+            return (InputMetric) constructor.invokeExact(parameters);
+        } catch (Throwable t) {
+            // wrapped as Constructor.newInstance did
+            throw new InputMetricException(new InvocationTargetException(t));
+        }
+    }
+
+    /**
+     * Rejects the arguments that do not match the constructor before it is
+     * invoked, so that only the exceptions of the constructor are wrapped.
+     */
+    private static void checkArguments(Class<?>[] parameterTypes, Object[] parameters) {
+        int length = parameters == null ? 0 : parameters.length;
+        if (length != parameterTypes.length) {
+            throw new IllegalArgumentException("wrong number of arguments: expected " + parameterTypes.length + ", found " + length);
+        }
+        for (int i = 0; i < length; i++) {
+            Class<?> type = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+            if (parameters[i] == null ? parameterTypes[i].isPrimitive() : !type.isInstance(parameters[i])) {
+                throw new IllegalArgumentException("argument type mismatch: " + parameterTypes[i].getName() + " expected for argument " + i);
+            }
         }
     }
 
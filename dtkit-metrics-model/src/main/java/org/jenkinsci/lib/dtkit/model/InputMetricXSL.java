@@ -28,13 +28,18 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import javax.xml.bind.annotation.XmlTransient;
 import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
 import org.jenkinsci.lib.dtkit.util.converter.ConversionException;
 import org.jenkinsci.lib.dtkit.util.converter.ConversionService;
+import org.jenkinsci.lib.dtkit.util.converter.ConversionServiceFactory;
+import org.jenkinsci.lib.dtkit.util.io.ResourceCache;
 import org.jenkinsci.lib.dtkit.util.validator.ValidationException;
 import org.jenkinsci.lib.dtkit.util.validator.ValidationService;
 
@@ -98,7 +103,7 @@ public abstract class InputMetricXSL extends InputMetric {
         }
 
         if (this.getXslName() != null) {
-            return this.getXslResourceClass().getResourceAsStream(this.getXslName());
+            return ResourceCache.getResourceAsStream(this.getXslResourceClass(), this.getXslName());
         }
 
         return null;
@@ -125,8 +130,18 @@ public abstract class InputMetricXSL extends InputMetric {
         File[] inputXsdFileList = getInputXsdFileList();
         if (inputXsdFileList != null) {
             InputStream[] inputStreams = new InputStream[inputXsdFileList.length];
-            for (int i = 0; i < inputXsdFileList.length; i++) {
-                inputStreams[i] = new FileInputStream(inputXsdFileList[i]);
+            try {
+                for (int i = 0; i < inputXsdFileList.length; i++) {
+                    inputStreams[i] = new FileInputStream(inputXsdFileList[i]);
+                }
+            } catch (IOException e) {
+                // do not leak the streams already opened
+                for (InputStream inputStream : inputStreams) {
+                    if (inputStream != null) {
+                        inputStream.close();
+                    }
+                }
+                throw e;
             }
             return inputStreams;
         }
@@ -135,7 +150,7 @@ public abstract class InputMetricXSL extends InputMetric {
         if (inputXsdNameList != null) {
             InputStream[] inputStreams = new InputStream[inputXsdNameList.length];
             for (int i = 0; i < inputXsdNameList.length; i++) {
-                inputStreams[i] = this.getInputXsdClass().getResourceAsStream(inputXsdNameList[i]);
+                inputStreams[i] = ResourceCache.getResourceAsStream(this.getInputXsdClass(), inputXsdNameList[i]);
             }
             return inputStreams;
         }
@@ -143,6 +158,40 @@ public abstract class InputMetricXSL extends InputMetric {
         return null;
     }
 
+    /**
+     * The root elements of the reports of this tool, used to detect the
+     * tool of a report without validating it. By default the global
+     * elements of the input XSDs, none when the tool has no XSD.
+     * Overrides this method to give a more precise signature, for example
+     * with attributes that distinguish two tools sharing a schema.
+     *
+     * @return the root element signatures
+     * @throws IOException if an input XSD could not be read
+     * @see FormatDetector
+     */
+    @XmlTransient
+    public List<RootElementSignature> getRootElementSignatures() throws IOException {
+        InputStream[] xsds = getListXsdInputStream();
+        if (xsds == null) {
+            return Collections.emptyList();
+        }
+        List<RootElementSignature> signatures = new ArrayList<>();
+        try {
+            for (InputStream xsd : xsds) {
+                if (xsd != null) {
+                    signatures.addAll(RootElementSignature.fromSchema(xsd));
+                }
+            }
+        } finally {
+            for (InputStream xsd : xsds) {
+                if (xsd != null) {
+                    xsd.close();
+                }
+            }
+        }
+        return signatures;
+    }
+
     /**
      * the XSD file associated to this output format
      *
@@ -178,9 +227,9 @@ public abstract class InputMetricXSL extends InputMetric {
      */
     @Override
     public void convert(File inputFile, File outFile, Map<String, Object> params) throws ConversionException {
-        ConversionService conversionService = new ConversionService();
+        ConversionService conversionService = ConversionServiceFactory.getInstance();
         if (getXslFile() == null) {
-            conversionService.convert(new StreamSource(this.getXslResourceClass().getResourceAsStream(this.getXslName())), inputFile, outFile, params);
+            conversionService.convert(getXslSource(), inputFile, outFile, params);
         } else {
             conversionService.convert(getXslFile(), inputFile, outFile, params);
         }
@@ -204,7 +253,7 @@ public abstract class InputMetricXSL extends InputMetric {
      *                                                                    The exception is catched by the API client (as Hudson plugin)
      */
     public void convert(File inputFile, File outFile, File externalXsl, Map<String, Object> params) throws ConversionException {
-        ConversionService conversionService = new ConversionService();
+        ConversionService conversionService = ConversionServiceFactory.getInstance();
         conversionService.convert(externalXsl, inputFile, outFile, params);
     }
 
@@ -221,10 +270,80 @@ public abstract class InputMetricXSL extends InputMetric {
      *                                                                    The exception is catched by the API client (as Hudson plugin)
      */
     public void convert(File inputFile, File outFile, String externalXslContent, Map<String, Object> params) throws ConversionException {
-        ConversionService conversionService = new ConversionService();
+        ConversionService conversionService = ConversionServiceFactory.getInstance();
         conversionService.convert(new StreamSource(new StringReader(externalXslContent)), inputFile, outFile, params);
     }
 
+    /*
+     *  Convert the input file and validate the output against the grammar of
+     *  the format in a single pass, the output file is not read again
+     */
+    @Override
+    public boolean convertAndValidateOutput(File inputFile, File outFile, Map<String, Object> params) throws ConversionException, ValidationException {
+        //If no format or no xsd is specified, only convert
+        if (this.getOutputFormatType() == null || this.getOutputXsdNameList() == null) {
+            convert(inputFile, outFile, params);
+            return true;
+        }
+
+        Source[] sources = getOutputXsdSources();
+
+        ConversionService conversionService = ConversionServiceFactory.getInstance();
+        if (getXslFile() == null) {
+            setOutputValidationErrors(conversionService.convertAndValidate(getXslSource(), inputFile, outFile, sources, params));
+        } else {
+            setOutputValidationErrors(conversionService.convertAndValidate(getXslFile(), inputFile, outFile, sources, params));
+        }
+        return getOutputValidationErrors().size() == 0;
+    }
+
+    /*
+     *  Validate the input file against the grammar of the tool and convert it
+     *  parsing the input file only once
+     */
+    @Override
+    public boolean validateInputAndConvert(File inputFile, File outFile, Map<String, Object> params) throws ConversionException, ValidationException {
+        return validateInputAndConvert(inputFile, outFile, params, false);
+    }
+
+    /**
+     * Validates the input file against the grammar of the tool and converts
+     * it parsing the input file only once.
+     *
+     * @param inputFile        the input file to validate and convert
+     * @param outFile          the output file to convert
+     * @param params           the conversion parameters
+     * @param stopOnFirstError stop to read the input file at the first
+     *                         validation error, only this error is reported
+     * @return true if the input file is valid and has been converted, false
+     *         otherwise
+     * @throws ConversionException when there is an error of conversion
+     * @throws ValidationException when the XSDs could not be compiled
+     */
+    public boolean validateInputAndConvert(File inputFile, File outFile, Map<String, Object> params, boolean stopOnFirstError) throws ConversionException, ValidationException {
+        Source[] sources;
+        if (this.getInputXsdFileList() != null) {
+            sources = new Source[getInputXsdFileList().length];
+            for (int i = 0; i < sources.length; i++) {
+                sources[i] = new StreamSource(getInputXsdFileList()[i]);
+            }
+        } else if (this.getInputXsdNameList() != null) {
+            sources = getInputXsdSources();
+        } else {
+            // nothing to validate
+            convert(inputFile, outFile, params);
+            return true;
+        }
+
+        ConversionService conversionService = ConversionServiceFactory.getInstance();
+        if (getXslFile() == null) {
+            setInputValidationErrors(conversionService.validateAndConvert(getXslSource(), inputFile, outFile, sources, params, stopOnFirstError));
+        } else {
+            setInputValidationErrors(conversionService.validateAndConvert(getXslFile(), inputFile, outFile, sources, params, stopOnFirstError));
+        }
+        return getInputValidationErrors().size() == 0;
+    }
+
     /*
     *  Validates the input file against the current grammar of the tool
     */
@@ -242,12 +361,7 @@ public abstract class InputMetricXSL extends InputMetric {
         }
 
         if (getInputXsdNameList() != null) {
-            StreamSource[] streamSources = new StreamSource[getInputXsdNameList().length];
-            for (int i = 0; i < streamSources.length; i++) {
-                streamSources[i] = new StreamSource(this.getInputXsdClass().getResourceAsStream(getInputXsdNameList()[i]));
-            }
-
-            setInputValidationErrors(validationService.processValidation(streamSources, inputXMLFile));
+            setInputValidationErrors(validationService.processValidation(getInputXsdSources(), inputXMLFile));
         }
 
 
@@ -272,16 +386,39 @@ public abstract class InputMetricXSL extends InputMetric {
         }
 
         //Validate given XSD
-        Source[] sources = new Source[getOutputXsdNameList().length];
-        for (int i = 0; i < sources.length; i++) {
-            sources[i] = new StreamSource(this.getOutputFormatType().getClass().getResourceAsStream(getOutputXsdNameList()[i]));
-        }
-
         ValidationService validationService = new ValidationService();
-        setOutputValidationErrors(validationService.processValidation(sources, inputXMLFile));
+        setOutputValidationErrors(validationService.processValidation(getOutputXsdSources(), inputXMLFile));
         return getOutputValidationErrors().size() == 0;
     }
 
+    private StreamSource getXslSource() {
+        try {
+            return ResourceCache.getSource(this.getXslResourceClass(), this.getXslName());
+        } catch (IOException e) {
+            throw new ConversionException("Unable to read the stylesheet " + this.getXslName(), e);
+        }
+    }
+
+    Source[] getInputXsdSources() {
+        return getXsdSources(this.getInputXsdClass(), getInputXsdNameList());
+    }
+
+    Source[] getOutputXsdSources() {
+        return getXsdSources(this.getOutputFormatType().getClass(), getOutputXsdNameList());
+    }
+
+    private static Source[] getXsdSources(Class<?> owner, String[] xsdNames) {
+        Source[] sources = new Source[xsdNames.length];
+        try {
+            for (int i = 0; i < sources.length; i++) {
+                sources[i] = ResourceCache.getSource(owner, xsdNames[i]);
+            }
+        } catch (IOException e) {
+            throw new ValidationException("Unable to read the schema", e);
+        }
+        return sources;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.jenkinsci.lib.dtkit.util.io.CompressedStreams;
+
+/**
+ * The root element of a report: its name, namespace and attributes, read
+ * without parsing the rest of the document.
+ */
+public final class RootElement implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Shared by all threads, the factory is configured once and only used
+     * to create readers.
+     */
+    static final XMLInputFactory INPUT_FACTORY = newInputFactory();
+
+    private final String namespace;
+    private final String localName;
+    private final Map<String, String> attributes;
+
+    /**
+     * @param namespace  the namespace URI, empty if none
+     * @param localName  the local name
+     * @param attributes the attribute values by local name
+     */
+    public RootElement(String namespace, String localName, Map<String, String> attributes) {
+        this.namespace = namespace == null ? "" : namespace;
+        this.localName = localName;
+        this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+    }
+
+    /**
+     * Reads the prolog and the root element of a file, the file may be gzip
+     * compressed. The document type declaration is not loaded.
+     *
+     * @param file the report
+     * @return the root element, or {@code null} if the file is not an XML
+     *         document
+     * @throws IOException in case of read error
+     */
+    public static RootElement read(File file) throws IOException {
+        try (InputStream input = CompressedStreams.openInput(file.toPath())) {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(file.toURI().toString(), input);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                        Map<String, String> attributes = new LinkedHashMap<>();
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            attributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                        }
+                        return new RootElement(reader.getNamespaceURI(), reader.getLocalName(), attributes);
+                    }
+                }
+                return null;
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the namespace URI, empty if none
+     */
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public String getLocalName() {
+        return localName;
+    }
+
+    /**
+     * @return the attribute values by local name
+     */
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public String toString() {
+        return (namespace.isEmpty() ? "" : "{" + namespace + "}") + localName + attributes;
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
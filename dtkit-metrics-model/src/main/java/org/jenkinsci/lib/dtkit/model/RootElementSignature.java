@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Describes the root element of the reports of a tool, so that the format
+ * of a report can be found from its root element only.
+ * <p>
+ * A signature matches a root element with the same local name and
+ * namespace and with the given attributes. The more precise the
+ * signature, the higher its score.
+ */
+public final class RootElementSignature implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final String XML_SCHEMA_NS = "http://www.w3.org/2001/XMLSchema";
+
+    private final String namespace;
+    private final String localName;
+    private final Map<String, String> attributes;
+
+    /**
+     * @param namespace the namespace URI, empty for no namespace
+     * @param localName the local name
+     */
+    public RootElementSignature(String namespace, String localName) {
+        this(namespace, localName, Collections.<String, String>emptyMap());
+    }
+
+    /**
+     * @param namespace  the namespace URI, empty for no namespace
+     * @param localName  the local name
+     * @param attributes the attributes the root element must have by local
+     *                   name, a {@code null} value matches any value
+     */
+    public RootElementSignature(String namespace, String localName, Map<String, String> attributes) {
+        this.namespace = namespace == null ? "" : namespace;
+        this.localName = localName;
+        this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public String getLocalName() {
+        return localName;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Compares the signature with a root element.
+     *
+     * @param root the root element of a report
+     * @return 0 if the signature does not match, otherwise a score that
+     *         grows with the namespace and the attributes matched
+     */
+    public int match(RootElement root) {
+        if (!localName.equals(root.getLocalName()) || !namespace.equals(root.getNamespace())) {
+            return 0;
+        }
+        int score = namespace.isEmpty() ? 1 : 2;
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            String value = root.getAttributes().get(attribute.getKey());
+            if (value == null || (attribute.getValue() != null && !attribute.getValue().equals(value))) {
+                return 0;
+            }
+            score += attribute.getValue() == null ? 1 : 2;
+        }
+        return score;
+    }
+
+    /**
+     * Reads the global elements of a schema, each of them may be the root
+     * element of a valid document.
+     *
+     * @param xsd the schema, not closed
+     * @return a signature for each global element, in the schema namespace
+     * @throws IOException if the schema could not be read
+     */
+    public static List<RootElementSignature> fromSchema(InputStream xsd) throws IOException {
+        List<RootElementSignature> signatures = new ArrayList<>();
+        try {
+            XMLStreamReader reader = RootElement.INPUT_FACTORY.createXMLStreamReader(xsd);
+            try {
+                String targetNamespace = "";
+                int depth = 0;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        depth++;
+                        if (depth == 1) {
+                            String value = reader.getAttributeValue(null, "targetNamespace");
+                            targetNamespace = value == null ? "" : value;
+                        } else if (depth == 2 && XML_SCHEMA_NS.equals(reader.getNamespaceURI()) && "element".equals(reader.getLocalName())) {
+                            String name = reader.getAttributeValue(null, "name");
+                            if (name != null) {
+                                signatures.add(new RootElementSignature(targetNamespace, name));
+                            }
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        depth--;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to read the schema", e);
+        }
+        return signatures;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof RootElementSignature)) {
+            return false;
+        }
+        RootElementSignature other = (RootElementSignature) obj;
+        return namespace.equals(other.namespace) && localName.equals(other.localName) && attributes.equals(other.attributes);
+    }
+
+    @Override
+    public int hashCode() {
+        return (31 * namespace.hashCode() + localName.hashCode()) * 31 + attributes.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return (namespace.isEmpty() ? "" : "{" + namespace + "}") + localName + (attributes.isEmpty() ? "" : attributes.toString());
+    }
+}
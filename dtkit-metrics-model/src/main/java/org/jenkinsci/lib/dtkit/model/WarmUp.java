@@ -0,0 +1,241 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.model;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import org.jenkinsci.lib.dtkit.util.converter.ConversionException;
+import org.jenkinsci.lib.dtkit.util.converter.ConversionServiceFactory;
+import org.jenkinsci.lib.dtkit.util.io.ResourceCache;
+import org.jenkinsci.lib.dtkit.util.validator.ValidationError;
+import org.jenkinsci.lib.dtkit.util.validator.ValidationException;
+import org.jenkinsci.lib.dtkit.util.validator.ValidationServiceFactory;
+
+/**
+ * Compiles ahead of time the stylesheets and schemas of the tools, for
+ * example when the application starts, so that the first conversions and
+ * validations do not pay it on the build threads.
+ */
+public final class WarmUp {
+
+    /**
+     * The outcome of the compilation of an item.
+     */
+    public static final class Result implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String item;
+        private final long durationNanos;
+        private final Exception exception;
+
+        Result(String item, long durationNanos, Exception exception) {
+            this.item = item;
+            this.durationNanos = durationNanos;
+            this.exception = exception;
+        }
+
+        /**
+         * @return a description of the compiled item, the tool and the
+         *         stylesheet or schema name
+         */
+        public String getItem() {
+            return item;
+        }
+
+        public long getDuration(TimeUnit unit) {
+            return unit.convert(durationNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public boolean isSuccess() {
+            return exception == null;
+        }
+
+        /**
+         * @return the compilation error, or {@code null} if it succeeded
+         */
+        public Exception getException() {
+            return exception;
+        }
+
+        @Override
+        public String toString() {
+            return item + " " + getDuration(TimeUnit.MILLISECONDS) + " ms" + (exception == null ? "" : " failed: " + exception.getMessage());
+        }
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+
+    private WarmUp() {
+    }
+
+    /**
+     * Compiles the stylesheets and schemas of the given tools in parallel
+     * using as many threads as available processors.
+     *
+     * @param inputMetrics the tools
+     * @return the outcome of each compilation
+     */
+    public static List<Result> compile(Collection<? extends InputMetricXSL> inputMetrics) {
+        return compile(inputMetrics, Collections.<OutputMetric>emptyList());
+    }
+
+    /**
+     * Compiles the stylesheets and schemas of the given tools and the
+     * schemas of the given formats in parallel using as many threads as
+     * available processors.
+     *
+     * @param inputMetrics  the tools
+     * @param outputMetrics the formats, those of the tools are added
+     * @return the outcome of each compilation
+     */
+    public static List<Result> compile(Collection<? extends InputMetricXSL> inputMetrics, Collection<? extends OutputMetric> outputMetrics) {
+        int size = inputMetrics.size() + outputMetrics.size();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(size, Runtime.getRuntime().availableProcessors())));
+        try {
+            return compile(inputMetrics, outputMetrics, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Compiles the stylesheets and schemas of the given tools with the given
+     * executor. The failure of an item does not stop the others.
+     *
+     * @param inputMetrics the tools
+     * @param executor     the executor that runs the compilations
+     * @return the outcome of each compilation
+     */
+    public static List<Result> compile(Collection<? extends InputMetricXSL> inputMetrics, Executor executor) {
+        return compile(inputMetrics, Collections.<OutputMetric>emptyList(), executor);
+    }
+
+    /**
+     * Compiles the stylesheets and schemas of the given tools and the
+     * schemas of the given formats with the given executor. A format shared
+     * by several tools is compiled once. The failure of an item does not
+     * stop the others.
+     *
+     * @param inputMetrics  the tools
+     * @param outputMetrics the formats, those of the tools are added
+     * @param executor      the executor that runs the compilations
+     * @return the outcome of each compilation
+     */
+    public static List<Result> compile(Collection<? extends InputMetricXSL> inputMetrics, Collection<? extends OutputMetric> outputMetrics, Executor executor) {
+        List<CompletableFuture<Result>> futures = new ArrayList<>();
+        Map<Class<?>, OutputMetric> formats = new LinkedHashMap<>();
+        for (OutputMetric outputMetric : outputMetrics) {
+            formats.put(outputMetric.getClass(), outputMetric);
+        }
+
+        for (final InputMetricXSL inputMetric : inputMetrics) {
+            if (inputMetric.getXslFile() != null) {
+                futures.add(submit(inputMetric.getToolName() + " " + inputMetric.getXslFile(), () -> ConversionServiceFactory.getInstance().compile(inputMetric.getXslFile()), executor));
+            } else if (inputMetric.getXslName() != null) {
+                futures.add(submit(inputMetric.getToolName() + " " + inputMetric.getXslName(), () -> {
+                    StreamSource xsl = ResourceCache.getSource(inputMetric.getXslResourceClass(), inputMetric.getXslName());
+                    if (xsl.getInputStream() == null) {
+                        throw new ConversionException("Stylesheet not found: " + inputMetric.getXslName());
+                    }
+                    ConversionServiceFactory.getInstance().compile(xsl);
+                }, executor));
+            }
+
+            if (inputMetric.getInputXsdFileList() != null) {
+                final File[] xsdFiles = inputMetric.getInputXsdFileList();
+                futures.add(submit(inputMetric.getToolName() + " " + Arrays.toString(xsdFiles), () -> {
+                    Source[] sources = new Source[xsdFiles.length];
+                    for (int i = 0; i < sources.length; i++) {
+                        sources[i] = new StreamSource(xsdFiles[i]);
+                    }
+                    compileSchema(sources);
+                }, executor));
+            } else if (inputMetric.getInputXsdNameList() != null) {
+                futures.add(submit(inputMetric.getToolName() + " " + Arrays.toString(inputMetric.getInputXsdNameList()), () -> compileSchema(inputMetric.getInputXsdSources()), executor));
+            }
+
+            if (inputMetric.getOutputFormatType() != null && !formats.containsKey(inputMetric.getOutputFormatType().getClass())) {
+                formats.put(inputMetric.getOutputFormatType().getClass(), inputMetric.getOutputFormatType());
+            }
+        }
+
+        for (final OutputMetric outputMetric : formats.values()) {
+            if (outputMetric.getXsdNameList() != null) {
+                futures.add(submit(outputMetric.getKey() + " " + Arrays.toString(outputMetric.getXsdNameList()), () -> {
+                    Source[] sources = new Source[outputMetric.getXsdNameList().length];
+                    for (int i = 0; i < sources.length; i++) {
+                        sources[i] = ResourceCache.getSource(outputMetric.getClass(), outputMetric.getXsdNameList()[i]);
+                    }
+                    compileSchema(sources);
+                }, executor));
+            }
+        }
+
+        List<Result> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<Result> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    private static void compileSchema(Source[] sources) throws ValidationException {
+        List<ValidationError> errors = ValidationServiceFactory.getInstance().compile(sources);
+        if (!errors.isEmpty()) {
+            throw new ValidationException("Invalid XSD: " + errors.get(0).getMessage());
+        }
+    }
+
+    private static CompletableFuture<Result> submit(final String item, final Task task, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    task.run();
+                    return new Result(item, System.nanoTime() - start, null);
+                } catch (Exception e) {
+                    return new Result(item, System.nanoTime() - start, e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(new Result(item, 0, e));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.model.processor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import org.jenkinsci.lib.dtkit.model.InputMetricCatalog;
+import org.jenkinsci.lib.dtkit.model.InputMetricDescriptor;
+
+/**
+ * Generates the {@link InputMetricCatalog} of the classes annotated with
+ * {@link InputMetricDescriptor}.
+ * <p>
+ * The entries of a catalog written by a previous compilation are kept when
+ * their class still exists, so incremental compilations do not lose the
+ * classes that were not compiled again.
+ */
+@SupportedAnnotationTypes("org.jenkinsci.lib.dtkit.model.InputMetricDescriptor")
+public class InputMetricCatalogProcessor extends AbstractProcessor {
+
+    /**
+     * The catalog lines by class name, sorted so that the catalog does not
+     * depend on the compilation order.
+     */
+    private final Map<String, String> lines = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!lines.isEmpty()) {
+                writeCatalog();
+            }
+            return false;
+        }
+
+        TypeMirror inputMetric = processingEnv.getElementUtils().getTypeElement("org.jenkinsci.lib.dtkit.model.InputMetric").asType();
+        for (Element element : roundEnv.getElementsAnnotatedWith(InputMetricDescriptor.class)) {
+            if (check(element, inputMetric)) {
+                TypeElement type = (TypeElement) element;
+                InputMetricDescriptor descriptor = type.getAnnotation(InputMetricDescriptor.class);
+                String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+                lines.put(className, InputMetricCatalog.format(className, descriptor.toolName(), descriptor.toolVersion(), descriptor.toolType(), descriptor.xslName(), Arrays.asList(descriptor.inputXsdNames())));
+            }
+        }
+        return false;
+    }
+
+    private boolean check(Element element, TypeMirror inputMetric) {
+        if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+            return error(element, "@InputMetricDescriptor must annotate a concrete class");
+        }
+        if (!processingEnv.getTypeUtils().isAssignable(element.asType(), inputMetric)) {
+            return error(element, "@InputMetricDescriptor must annotate a subclass of InputMetric");
+        }
+        boolean defaultConstructor = false;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(element.getEnclosedElements())) {
+            defaultConstructor |= constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC);
+        }
+        if (!defaultConstructor) {
+            return error(element, "@InputMetricDescriptor must annotate a class with a public constructor without arguments");
+        }
+
+        InputMetricDescriptor descriptor = element.getAnnotation(InputMetricDescriptor.class);
+        for (String value : descriptor.inputXsdNames()) {
+            if (value.contains(",") || !isSingleLine(value)) {
+                return error(element, "Invalid input XSD name: " + value);
+            }
+        }
+        if (!isSingleLine(descriptor.toolName()) || !isSingleLine(descriptor.toolVersion()) || !isSingleLine(descriptor.xslName())) {
+            return error(element, "@InputMetricDescriptor values must not contain tabs or line breaks");
+        }
+        return true;
+    }
+
+    private static boolean isSingleLine(String value) {
+        return value.indexOf('\t') == -1 && value.indexOf('\n') == -1 && value.indexOf('\r') == -1;
+    }
+
+    private boolean error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        return false;
+    }
+
+    private void writeCatalog() {
+        try {
+            FileObject previous = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", InputMetricCatalog.RESOURCE_NAME);
+            try (InputStream input = previous.openInputStream()) {
+                for (String line : InputMetricCatalog.readLines(input)) {
+                    String className = InputMetricCatalog.getClassName(line);
+                    // keep the annotated classes that were not compiled again
+                    TypeElement type = processingEnv.getElementUtils().getTypeElement(className.replace('$', '.'));
+                    if (!lines.containsKey(className) && type != null && type.getAnnotation(InputMetricDescriptor.class) != null) {
+                        lines.put(className, line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // no previous catalog
+        }
+
+        try {
+            FileObject catalog = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", InputMetricCatalog.RESOURCE_NAME);
+            try (Writer writer = new OutputStreamWriter(catalog.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# Generated by " + InputMetricCatalogProcessor.class.getName() + "\n");
+                for (String line : lines.values()) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + InputMetricCatalog.RESOURCE_NAME + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class FormatDetectorTest {
+
+    @SuppressWarnings("serial")
+    private static class SampleTool extends InputMetricXSL {
+        private final List<RootElementSignature> signatures;
+
+        SampleTool(String toolName, RootElementSignature... signatures) {
+            this.signatures = Arrays.asList(signatures);
+            setToolName(toolName);
+        }
+
+        @Override
+        public List<RootElementSignature> getRootElementSignatures() throws IOException {
+            if (signatures.isEmpty()) {
+                throw new IOException("no signature");
+            }
+            return signatures;
+        }
+    }
+
+    private static final SampleTool PLAIN = new SampleTool("plain", new RootElementSignature("", "testsuites"));
+
+    private static final SampleTool NAMESPACED = new SampleTool("namespaced", new RootElementSignature("urn:tool", "testsuites"));
+
+    private static final SampleTool GENERATED = new SampleTool("generated", new RootElementSignature("", "testsuites", Collections.singletonMap("generator", "tool")));
+
+    private static final SampleTool VERSIONED = new SampleTool("versioned", new RootElementSignature("", "testsuites", Collections.<String, String>singletonMap("version", null)));
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final FormatDetector detector = new FormatDetector(Arrays.asList(PLAIN, NAMESPACED, GENERATED, VERSIONED));
+
+    private File write(String content) throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String tools(List<FormatDetector.Candidate> candidates) {
+        StringBuilder tools = new StringBuilder();
+        for (FormatDetector.Candidate candidate : candidates) {
+            tools.append(candidate.getInputMetric().getToolName()).append(':').append(candidate.getScore()).append(' ');
+        }
+        return tools.toString().trim();
+    }
+
+    @Test
+    public void distinguishToolsByNamespace() throws Exception {
+        assertEquals("namespaced:2", tools(detector.detect(write("<?xml version=\"1.0\"?><testsuites xmlns=\"urn:tool\"><testsuite/></testsuites>"))));
+        assertEquals("plain:1", tools(detector.detect(write("<testsuites><testsuite/></testsuites>"))));
+        assertEquals("", tools(detector.detect(write("<testsuites xmlns=\"urn:other\"/>"))));
+    }
+
+    @Test
+    public void rankToolsByAttributes() throws Exception {
+        assertEquals("generated:3 versioned:2 plain:1", tools(detector.detect(write("<testsuites version=\"1\" generator=\"tool\"/>"))));
+        assertEquals("versioned:2 plain:1", tools(detector.detect(write("<testsuites version=\"1\" generator=\"other\"/>"))));
+    }
+
+    @Test
+    public void keepBestSignatureOfEachTool() throws Exception {
+        RootElementSignature any = new RootElementSignature("", "testsuites");
+        RootElementSignature generated = new RootElementSignature("", "testsuites", Collections.singletonMap("generator", "tool"));
+        FormatDetector detector = new FormatDetector(Arrays.asList(new SampleTool("twice", any, generated), PLAIN));
+
+        List<FormatDetector.Candidate> candidates = detector.detect(write("<testsuites generator=\"tool\"/>"));
+
+        assertEquals("twice:3 plain:1", tools(candidates));
+        assertEquals(generated, candidates.get(0).getSignature());
+    }
+
+    @Test
+    public void ignoreToolsWhoseSignaturesCannotBeRead() throws Exception {
+        FormatDetector detector = new FormatDetector(Arrays.asList(new SampleTool("broken"), PLAIN));
+
+        assertEquals("plain:1", tools(detector.detect(write("<testsuites/>"))));
+    }
+
+    @Test
+    public void noCandidateForFilesThatAreNotXml() throws Exception {
+        assertTrue(detector.detect(write("testsuites: 3 passed")).isEmpty());
+        assertTrue(detector.detect(write("")).isEmpty());
+        assertNull(RootElement.read(write("{\"testsuites\": []}")));
+    }
+}
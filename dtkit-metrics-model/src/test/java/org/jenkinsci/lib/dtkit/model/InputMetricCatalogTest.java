@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class InputMetricCatalogTest {
+
+    @SuppressWarnings("serial")
+    public static class SampleTool extends InputMetricOther {
+        @Override
+        public String getToolName() {
+            return "Sample";
+        }
+
+        @Override
+        public InputType getToolType() {
+            return InputType.COVERAGE;
+        }
+
+        @Override
+        public void convert(File inputFile, File outFile, Map<String, Object> params) {
+        }
+
+        @Override
+        public boolean validateInputFile(File inputXMLFile) {
+            return true;
+        }
+
+        @Override
+        public boolean validateOutputFile(File inputXMLFile) {
+            return true;
+        }
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private URLClassLoader withCatalog(String... lines) throws IOException {
+        File root = folder.newFolder();
+        File catalog = new File(root, InputMetricCatalog.RESOURCE_NAME);
+        Files.createDirectories(catalog.getParentFile().toPath());
+        Files.write(catalog.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+        return new URLClassLoader(new URL[] { root.toURI().toURL() }, getClass().getClassLoader());
+    }
+
+    private static InputMetricCatalog.Entry find(List<InputMetricCatalog.Entry> entries, String className) {
+        for (InputMetricCatalog.Entry entry : entries) {
+            if (entry.getClassName().equals(className)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void load() throws Exception {
+        String className = SampleTool.class.getName();
+        try (URLClassLoader classLoader = withCatalog("# comment", "", //
+                InputMetricCatalog.format(className, "Sample", null, InputType.COVERAGE, "sample.xsl", Arrays.asList("a.xsd", "b.xsd")))) {
+            InputMetricCatalog.Entry entry = find(InputMetricCatalog.load(classLoader), className);
+
+            assertNotNull(entry);
+            assertEquals("Sample", entry.getToolName());
+            assertNull(entry.getToolVersion());
+            assertEquals(InputType.COVERAGE, entry.getToolType());
+            assertEquals("sample.xsl", entry.getXslName());
+            assertEquals(Arrays.asList("a.xsd", "b.xsd"), entry.getInputXsdNames());
+            assertEquals(SampleTool.class, entry.getInputMetricClass());
+            assertTrue(entry.newInstance() instanceof SampleTool);
+        }
+    }
+
+    @Test
+    public void verifyEntryMatchingTheGetters() throws Exception {
+        String className = SampleTool.class.getName();
+        try (URLClassLoader classLoader = withCatalog(InputMetricCatalog.format(className, "Sample", null, InputType.COVERAGE, null, Collections.<String>emptyList()))) {
+            find(InputMetricCatalog.load(classLoader), className).verify();
+        }
+    }
+
+    @Test
+    public void rejectEntryNotMatchingTheGetters() throws Exception {
+        String className = SampleTool.class.getName();
+        try (URLClassLoader classLoader = withCatalog(InputMetricCatalog.format(className, "Sample", "1.0", InputType.COVERAGE, null, Collections.<String>emptyList()))) {
+            find(InputMetricCatalog.load(classLoader), className).verify();
+            fail("the tool has no version");
+        } catch (InputMetricException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(className));
+        }
+    }
+
+    @Test
+    public void rejectInvalidLine() throws Exception {
+        try (URLClassLoader classLoader = withCatalog(SampleTool.class.getName() + "\tSample")) {
+            InputMetricCatalog.load(classLoader);
+            fail("the line has only two values");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Invalid line in "));
+        }
+    }
+
+    @Test
+    public void rejectMissingClass() throws Exception {
+        try (URLClassLoader classLoader = withCatalog(InputMetricCatalog.format("sample.MissingTool", "Missing", null, InputType.TEST, null, Collections.<String>emptyList()))) {
+            InputMetricCatalog.Entry entry = find(InputMetricCatalog.load(classLoader), "sample.MissingTool");
+
+            assertNotNull(entry);
+            try {
+                entry.getInputMetricClass();
+                fail("the class does not exist");
+            } catch (InputMetricException e) {
+                assertTrue(e.getCause() instanceof ClassNotFoundException);
+            }
+        }
+    }
+}
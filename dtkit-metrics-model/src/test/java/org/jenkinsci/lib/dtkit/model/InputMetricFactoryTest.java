@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.model;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class InputMetricFactoryTest {
+
+    @SuppressWarnings("serial")
+    public static class SampleTool extends InputMetricOther {
+
+        public SampleTool() {
+            throw new IllegalStateException("no default tool");
+        }
+
+        public SampleTool(String toolName) {
+            if (toolName.isEmpty()) {
+                throw new IllegalArgumentException("empty tool name");
+            }
+            setToolName(toolName);
+        }
+
+        @Override
+        public void convert(File inputFile, File outFile, Map<String, Object> params) {
+        }
+
+        @Override
+        public boolean validateInputFile(File inputXMLFile) {
+            return true;
+        }
+
+        @Override
+        public boolean validateOutputFile(File inputXMLFile) {
+            return true;
+        }
+    }
+
+    @Test
+    public void propagateExceptionOfDefaultConstructor() throws Exception {
+        try {
+            InputMetricFactory.getInstance(SampleTool.class);
+            fail("the constructor throws an exception");
+        } catch (IllegalStateException e) {
+            assertEquals("no default tool", e.getMessage());
+        }
+    }
+
+    @Test
+    public void createWithConstructorArguments() throws Exception {
+        InputMetric inputMetric = InputMetricFactory.getInstanceWithNoDefaultConstructor(SampleTool.class, new Class<?>[] { String.class }, new Object[] { "sample" });
+
+        assertEquals("sample", inputMetric.getToolName());
+    }
+
+    @Test
+    public void wrapExceptionOfConstructorWithArguments() throws Exception {
+        try {
+            InputMetricFactory.getInstanceWithNoDefaultConstructor(SampleTool.class, new Class<?>[] { String.class }, new Object[] { "" });
+            fail("the constructor throws an exception");
+        } catch (InputMetricException e) {
+            assertTrue(e.getCause() instanceof InvocationTargetException);
+            Throwable target = ((InvocationTargetException) e.getCause()).getTargetException();
+            assertTrue(target instanceof IllegalArgumentException);
+            assertEquals("empty tool name", target.getMessage());
+        }
+    }
+
+    @Test
+    public void rejectArgumentsNotMatchingConstructor() throws Exception {
+        try {
+            InputMetricFactory.getInstanceWithNoDefaultConstructor(SampleTool.class, new Class<?>[] { String.class }, new Object[] { 1 });
+            fail("the argument is not a string");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("argument type mismatch"));
+        }
+    }
+
+    @Test
+    public void wrapMissingConstructor() throws Exception {
+        try {
+            InputMetricFactory.getInstanceWithNoDefaultConstructor(SampleTool.class, new Class<?>[] { Integer.class }, new Object[] { 1 });
+            fail("there is no such constructor");
+        } catch (InputMetricException e) {
+            assertTrue(e.getCause() instanceof NoSuchMethodException);
+        }
+    }
+}
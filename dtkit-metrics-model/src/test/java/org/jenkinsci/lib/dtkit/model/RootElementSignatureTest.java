@@ -0,0 +1,77 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.model;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RootElementSignatureTest {
+
+    @Test
+    public void scoreGrowsWithNamespaceAndAttributes() {
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put("generator", "tool");
+        attributes.put("version", "1");
+        RootElement root = new RootElement("urn:tool", "report", attributes);
+
+        assertEquals(2, new RootElementSignature("urn:tool", "report").match(root));
+        assertEquals(3, new RootElementSignature("urn:tool", "report", Collections.<String, String>singletonMap("version", null)).match(root));
+        assertEquals(4, new RootElementSignature("urn:tool", "report", Collections.singletonMap("generator", "tool")).match(root));
+        assertEquals(1, new RootElementSignature("", "report").match(new RootElement("", "report", attributes)));
+    }
+
+    @Test
+    public void noMatchForOtherNamespaceOrAttributes() {
+        RootElement root = new RootElement("urn:tool", "report", Collections.singletonMap("generator", "tool"));
+
+        assertEquals(0, new RootElementSignature("", "report").match(root));
+        assertEquals(0, new RootElementSignature("urn:other", "report").match(root));
+        assertEquals(0, new RootElementSignature("urn:tool", "other").match(root));
+        assertEquals(0, new RootElementSignature("urn:tool", "report", Collections.singletonMap("generator", "other")).match(root));
+        assertEquals(0, new RootElementSignature("urn:tool", "report", Collections.<String, String>singletonMap("version", null)).match(root));
+    }
+
+    @Test
+    public void readGlobalElementsOfSchema() throws Exception {
+        String xsd = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\" targetNamespace=\"urn:tool\">" //
+                + "<xs:element name=\"report\"><xs:complexType><xs:sequence>" //
+                + "<xs:element name=\"test\" type=\"xs:string\"/>" //
+                + "</xs:sequence></xs:complexType></xs:element>" //
+                + "<xs:element name=\"summary\" type=\"xs:string\"/>" //
+                + "<xs:complexType name=\"unused\"/>" //
+                + "</xs:schema>";
+
+        List<RootElementSignature> signatures = RootElementSignature.fromSchema(new ByteArrayInputStream(xsd.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(Arrays.asList(new RootElementSignature("urn:tool", "report"), new RootElementSignature("urn:tool", "summary")), signatures);
+    }
+}
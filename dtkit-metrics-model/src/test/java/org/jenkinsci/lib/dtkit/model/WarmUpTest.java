@@ -0,0 +1,179 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.model;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import org.jenkinsci.lib.dtkit.util.converter.ConversionException;
+import org.jenkinsci.lib.dtkit.util.converter.ConversionServiceFactory;
+import org.jenkinsci.lib.dtkit.util.validator.ValidationException;
+import org.jenkinsci.lib.dtkit.util.validator.ValidationServiceFactory;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class WarmUpTest {
+
+    private static final String XSD = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">" //
+            + "<xs:element name=\"root\" type=\"xs:int\"/>" //
+            + "</xs:schema>";
+
+    // same length as XSD, with an unknown type
+    private static final String INVALID_XSD = XSD.replace("xs:int", "xs:inx");
+
+    private static final String XSL = "<xsl:stylesheet version=\"2.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">" //
+            + "<xsl:template match=\"/\"><root><xsl:value-of select=\"count(//*)\"/></root></xsl:template>" //
+            + "</xsl:stylesheet>";
+
+    // same length as XSL, with an invalid expression
+    private static final String INVALID_XSL = XSL.replace("count(//*)", "count(//*(");
+
+    @SuppressWarnings("serial")
+    private static class SampleTool extends InputMetricXSL {
+        private final File xslFile;
+        private final String xslName;
+        private final File[] xsdFiles;
+
+        SampleTool(String toolName, File xslFile, String xslName, File... xsdFiles) {
+            this.xslFile = xslFile;
+            this.xslName = xslName;
+            this.xsdFiles = xsdFiles.length == 0 ? null : xsdFiles;
+            setToolName(toolName);
+        }
+
+        @Override
+        public File getXslFile() {
+            return xslFile;
+        }
+
+        @Override
+        public String getXslName() {
+            return xslName;
+        }
+
+        @Override
+        public File[] getInputXsdFileList() {
+            return xsdFiles;
+        }
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void reset() {
+        ValidationServiceFactory.reset();
+        ConversionServiceFactory.reset();
+    }
+
+    private File write(String name, String content) throws Exception {
+        File file = folder.newFile(name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /*
+     * Replaces the content of a file without changing its length and
+     * modification time, so that only a cache hit still sees the old one.
+     */
+    private static void replaceUnnoticed(File file, String content) throws Exception {
+        long lastModified = file.lastModified();
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        assertEquals(file.length(), bytes.length);
+        Files.write(file.toPath(), bytes);
+        assertTrue(file.setLastModified(lastModified));
+    }
+
+    @Test
+    public void reportSchemaFailuresPerItem() throws Exception {
+        SampleTool valid = new SampleTool("valid", null, null, write("valid.xsd", XSD));
+        SampleTool invalid = new SampleTool("invalid", null, null, write("invalid.xsd", INVALID_XSD));
+
+        List<WarmUp.Result> results = WarmUp.compile(Arrays.asList(valid, invalid));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).toString(), results.get(0).isSuccess());
+        assertTrue(results.get(0).getItem().startsWith("valid "));
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(1).getItem().startsWith("invalid "));
+        assertTrue(results.get(1).getException() instanceof ValidationException);
+        assertTrue(results.get(1).getException().getMessage().startsWith("Invalid XSD: "));
+    }
+
+    @Test
+    public void reportStylesheetFailuresPerItem() throws Exception {
+        SampleTool valid = new SampleTool("valid", write("valid.xsl", XSL), null);
+        SampleTool invalid = new SampleTool("invalid", write("invalid.xsl", INVALID_XSL), null);
+        SampleTool missing = new SampleTool("missing", null, "missing.xsl");
+
+        List<WarmUp.Result> results = WarmUp.compile(Arrays.asList(valid, invalid, missing));
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).toString(), results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(1).getItem().startsWith("invalid "));
+        assertTrue(results.get(1).getException() instanceof ConversionException);
+        assertFalse(results.get(2).isSuccess());
+        assertEquals("Stylesheet not found: missing.xsl", results.get(2).getException().getMessage());
+    }
+
+    @Test
+    public void warmedSchemaIsNotCompiledAgain() throws Exception {
+        File xsd = write("schema.xsd", XSD);
+        assertTrue(WarmUp.compile(Arrays.asList(new SampleTool("sample", null, null, xsd))).get(0).isSuccess());
+
+        replaceUnnoticed(xsd, INVALID_XSD);
+        assertTrue(ValidationServiceFactory.getInstance().compile(new Source[] { new StreamSource(xsd) }).isEmpty());
+
+        // compiled again once the cache is cleared
+        ValidationServiceFactory.reset();
+        assertFalse(ValidationServiceFactory.getInstance().compile(new Source[] { new StreamSource(xsd) }).isEmpty());
+    }
+
+    @Test
+    public void warmedStylesheetIsNotCompiledAgain() throws Exception {
+        File xsl = write("stylesheet.xsl", XSL);
+        assertTrue(WarmUp.compile(Arrays.asList(new SampleTool("sample", xsl, null))).get(0).isSuccess());
+
+        replaceUnnoticed(xsl, INVALID_XSL);
+        ConversionServiceFactory.getInstance().compile(xsl);
+
+        // compiled again once the cache is cleared
+        ConversionServiceFactory.reset();
+        try {
+            ConversionServiceFactory.getInstance().compile(xsl);
+            fail("the stylesheet is invalid");
+        } catch (ConversionException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.model.processor;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import org.jenkinsci.lib.dtkit.model.InputMetricCatalog;
+import org.jenkinsci.lib.dtkit.model.InputType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class InputMetricCatalogProcessorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+    private static JavaFileObject tool(String simpleName, String modifiers, String annotation) {
+        String source = "package sample;\n" //
+                + "import java.io.File;\n" //
+                + "import java.util.Map;\n" //
+                + "import org.jenkinsci.lib.dtkit.model.*;\n" //
+                + annotation + "\n" //
+                + "public " + modifiers + " class " + simpleName + " extends InputMetricOther {\n" //
+                + "    public void convert(File inputFile, File outFile, Map<String, Object> params) {}\n" //
+                + "    public boolean validateInputFile(File inputXMLFile) { return true; }\n" //
+                + "    public boolean validateOutputFile(File inputXMLFile) { return true; }\n" //
+                + "}\n";
+        return new SimpleJavaFileObject(URI.create("string:///sample/" + simpleName + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+    }
+
+    private boolean compile(File output, JavaFileObject source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        String classPath = System.getProperty("java.class.path") + File.pathSeparator + output;
+        List<String> options = Arrays.asList("-classpath", classPath, "-d", output.getPath());
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, Collections.singleton(source));
+        task.setProcessors(Collections.singleton(new InputMetricCatalogProcessor()));
+        return task.call();
+    }
+
+    private static List<String> readCatalog(File output) throws Exception {
+        try (InputStream input = new FileInputStream(new File(output, InputMetricCatalog.RESOURCE_NAME))) {
+            return InputMetricCatalog.readLines(input);
+        }
+    }
+
+    @Test
+    public void generateCatalog() throws Exception {
+        File output = folder.newFolder();
+
+        assertTrue(diagnostics.getDiagnostics().toString(), compile(output, tool("SampleTool", "", //
+                "@InputMetricDescriptor(toolName = \"Sample\", toolVersion = \"1.0\", toolType = InputType.TEST, xslName = \"sample.xsl\", inputXsdNames = { \"a.xsd\", \"b.xsd\" })")));
+
+        assertEquals(Collections.singletonList(InputMetricCatalog.format("sample.SampleTool", "Sample", "1.0", InputType.TEST, "sample.xsl", Arrays.asList("a.xsd", "b.xsd"))), //
+                readCatalog(output));
+    }
+
+    @Test
+    public void keepEntriesOfClassesNotCompiledAgain() throws Exception {
+        File output = folder.newFolder();
+
+        assertTrue(diagnostics.getDiagnostics().toString(), compile(output, tool("FirstTool", "", "@InputMetricDescriptor(toolName = \"First\", toolType = InputType.TEST)")));
+        assertTrue(diagnostics.getDiagnostics().toString(), compile(output, tool("SecondTool", "", "@InputMetricDescriptor(toolName = \"Second\", toolType = InputType.COVERAGE)")));
+
+        assertEquals(Arrays.asList( //
+                InputMetricCatalog.format("sample.FirstTool", "First", null, InputType.TEST, null, Collections.<String>emptyList()), //
+                InputMetricCatalog.format("sample.SecondTool", "Second", null, InputType.COVERAGE, null, Collections.<String>emptyList())), //
+                readCatalog(output));
+    }
+
+    @Test
+    public void rejectAbstractClass() throws Exception {
+        File output = folder.newFolder();
+
+        assertFalse(compile(output, tool("AbstractTool", "abstract", "@InputMetricDescriptor(toolName = \"Abstract\", toolType = InputType.TEST)")));
+
+        boolean reported = false;
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            reported |= diagnostic.getKind() == Diagnostic.Kind.ERROR && diagnostic.getMessage(null).contains("concrete class");
+        }
+        assertTrue(diagnostics.getDiagnostics().toString(), reported);
+        assertFalse(new File(output, InputMetricCatalog.RESOURCE_NAME).exists());
+    }
+}
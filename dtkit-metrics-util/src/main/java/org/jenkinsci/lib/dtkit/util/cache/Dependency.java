@@ -0,0 +1,168 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+
+import org.jenkinsci.lib.dtkit.util.io.BufferPool;
+
+/**
+ * A file read while compiling a stylesheet or a schema: an included or
+ * imported module.
+ * <p>
+ * The dependency keeps the digest of the content read and, when it comes
+ * from a local file or from a JAR on the local file system, the
+ * modification time and length of that file, so a cached compilation can
+ * be checked without reading the content again.
+ */
+public final class Dependency {
+
+    private final String uri;
+    private final String digest;
+    private final File file;
+    private final long lastModified;
+    private final long length;
+
+    private Dependency(String uri, String digest, File file, long lastModified, long length) {
+        this.uri = uri;
+        this.digest = digest;
+        this.file = file;
+        this.lastModified = lastModified;
+        this.length = length;
+    }
+
+    /**
+     * Reads a dependency. JAR files are not cached by the connection, so
+     * a JAR replaced at the same path is read again.
+     *
+     * @param url     the resolved location of the dependency
+     * @param content where the content is copied
+     * @return the dependency
+     * @throws IOException in case of read error
+     */
+    public static Dependency read(URL url, OutputStream content) throws IOException {
+        // the file is checked before its content is read, so a change made while reading is seen later
+        File file = getLocalFile(url);
+        long lastModified = file == null ? 0 : file.lastModified();
+        long length = file == null ? 0 : file.length();
+
+        URLConnection connection = url.openConnection();
+        connection.setUseCaches(false);
+        MessageDigest digest = Digests.newDigest();
+        byte[] buffer = BufferPool.getDefault().acquire();
+        try (InputStream is = connection.getInputStream()) {
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                content.write(buffer, 0, read);
+            }
+        } finally {
+            BufferPool.getDefault().release(buffer);
+        }
+        return new Dependency(url.toExternalForm(), Digests.toHex(digest.digest()), file, lastModified, length);
+    }
+
+    /**
+     * Returns a dependency that could not be read, for example a missing
+     * file, so the compilation that has ignored it can be done again once
+     * the file is there.
+     *
+     * @param url the resolved location of the dependency
+     * @return the dependency, without digest
+     */
+    public static Dependency unreadable(URL url) {
+        File file;
+        try {
+            file = getLocalFile(url);
+        } catch (IOException e) {
+            file = null;
+        }
+        return new Dependency(url.toExternalForm(), null, file, file == null ? 0 : file.lastModified(), file == null ? 0 : file.length());
+    }
+
+    private static File getLocalFile(URL url) throws IOException {
+        URL fileURL = url;
+        if ("jar".equals(url.getProtocol())) {
+            fileURL = ((JarURLConnection) url.openConnection()).getJarFileURL();
+        }
+        if (!"file".equals(fileURL.getProtocol())) {
+            return null;
+        }
+        try {
+            return new File(fileURL.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    /**
+     * @return the SHA-256 digest of the content, in hexadecimal, or
+     *         {@code null} if the dependency could not be read
+     */
+    public String getDigest() {
+        return digest;
+    }
+
+    /**
+     * Tells whether the file of the dependency has changed since it was
+     * read. A dependency that is not a local file is never modified.
+     *
+     * @return {@code true} if the file was modified or deleted
+     */
+    public boolean isModified() {
+        return file != null && (file.lastModified() != lastModified || file.length() != length);
+    }
+
+    /**
+     * Tells whether one of the given dependencies has changed.
+     *
+     * @param dependencies the dependencies
+     * @return {@code true} if one of them was modified or deleted
+     */
+    public static boolean isModified(Iterable<Dependency> dependencies) {
+        for (Dependency dependency : dependencies) {
+            if (dependency.isModified()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return uri + '=' + digest;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A bounded, thread-safe cache with least recently used eviction.
+ * <p>
+ * Values are computed on demand by a {@link Loader}. When several threads ask
+ * for the same missing key at the same time only the first one runs the
+ * loader, the others wait for its result. A failed load is not cached.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class LRUCache<K, V> {
+
+    /**
+     * Computes the value of a missing key.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     */
+    public interface Loader<K, V> {
+        V load(K key) throws Exception;
+    }
+
+    private final int maxSize;
+    private final Map<K, CompletableFuture<V>> entries;
+
+    /**
+     * Creates a cache that keeps at most {@code maxSize} entries.
+     *
+     * @param maxSize the maximum number of entries
+     */
+    public LRUCache(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The cache size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<K, CompletableFuture<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CompletableFuture<V>> eldest) {
+                return size() > LRUCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the value associated to the given key, loading it if needed.
+     *
+     * @param key    the key
+     * @param loader the loader used if the key is not in the cache
+     * @return the cached or loaded value
+     * @throws Exception the exception thrown by the loader
+     */
+    public V get(K key, Loader<K, V> loader) throws Exception {
+        CompletableFuture<V> future;
+        boolean owner = false;
+        synchronized (entries) {
+            future = entries.get(key);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                entries.put(key, future);
+                owner = true;
+            }
+        }
+
+        if (owner) {
+            try {
+                future.complete(loader.load(key));
+            } catch (Exception | Error e) {
+                synchronized (entries) {
+                    entries.remove(key, future);
+                }
+                future.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the value associated to the given key if it has already been
+     * loaded.
+     *
+     * @param key the key
+     * @return the value or {@code null} if absent or still loading
+     */
+    public V getIfPresent(K key) {
+        CompletableFuture<V> future;
+        synchronized (entries) {
+            future = entries.get(key);
+        }
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return future.join();
+    }
+
+    /**
+     * Removes the given key from the cache.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
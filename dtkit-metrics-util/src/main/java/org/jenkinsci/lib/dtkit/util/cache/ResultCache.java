@@ -0,0 +1,251 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.cache;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A content addressed cache of conversion results stored on disk.
+ * <p>
+ * Each entry is a file named after its key, a hexadecimal digest computed
+ * by the caller from everything the result depends on. Entries survive the
+ * restart of the JVM. When the total size of the entries exceeds the
+ * maximum size, the least recently used ones, by last modification time,
+ * are deleted. When several threads ask for the same missing key at the
+ * same time only the first one produces the result, the others copy it.
+ */
+public class ResultCache {
+
+    /**
+     * Writes a result to the target file.
+     */
+    public interface Producer {
+        void produce() throws Exception;
+    }
+
+    private static final String ENTRY_SUFFIX = ".result";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxSize;
+    private final AtomicLong size = new AtomicLong();
+    private final ConcurrentMap<String, CompletableFuture<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Opens, or creates, a cache directory.
+     *
+     * @param directory the directory of the cache entries
+     * @param maxSize   the maximum total size of the entries in bytes
+     * @throws IOException if the directory could not be created or read
+     */
+    public ResultCache(Path directory, long maxSize) throws IOException {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than zero");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxSize = maxSize;
+        long total = 0;
+        for (Path entry : listEntries()) {
+            total += Files.size(entry);
+        }
+        size.set(total);
+        evict();
+    }
+
+    /**
+     * Writes the result associated to the given key in the target file,
+     * producing it if it is not in the cache.
+     *
+     * @param key      the digest of everything the result depends on
+     * @param target   the file where the result is written
+     * @param producer writes the result to the target file when it is not in
+     *                 the cache
+     * @return true if the result was served from the cache
+     * @throws Exception the exception of the producer
+     */
+    public boolean get(String key, Path target, Producer producer) throws Exception {
+        if (copyFromCache(key, target)) {
+            return true;
+        }
+
+        CompletableFuture<Boolean> own = new CompletableFuture<>();
+        CompletableFuture<Boolean> other = inFlight.putIfAbsent(key, own);
+        if (other != null) {
+            // the same input is being converted by another thread
+            if (other.join() && copyFromCache(key, target)) {
+                return true;
+            }
+            producer.produce();
+            return false;
+        }
+
+        boolean stored = false;
+        try {
+            producer.produce();
+            stored = store(key, target);
+            return false;
+        } finally {
+            inFlight.remove(key, own);
+            own.complete(stored);
+        }
+    }
+
+    /**
+     * Deletes all the entries.
+     *
+     * @throws IOException if the directory could not be read
+     */
+    public synchronized void clear() throws IOException {
+        for (Path entry : listEntries()) {
+            delete(entry);
+        }
+        size.set(0);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the total size of the entries.
+     *
+     * @return the size in bytes
+     */
+    public long size() {
+        return size.get();
+    }
+
+    private Path entry(String key) {
+        if (!key.matches("[0-9a-zA-Z]+")) {
+            throw new IllegalArgumentException("Invalid cache key: " + key);
+        }
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+
+    private boolean copyFromCache(String key, Path target) throws IOException {
+        Path entry = entry(key);
+        try {
+            Files.copy(entry, target, StandardCopyOption.REPLACE_EXISTING);
+            // the modification time orders the entries for eviction
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            // missing or evicted meanwhile
+            return false;
+        }
+    }
+
+    private boolean store(String key, Path result) {
+        try {
+            return doStore(key, result);
+        } catch (IOException e) {
+            // the result is written, only the cache entry is missing
+            return false;
+        }
+    }
+
+    private boolean doStore(String key, Path result) throws IOException {
+        long length = Files.size(result);
+        if (length > maxSize) {
+            return false;
+        }
+        Path entry = entry(key);
+        Path temp = Files.createTempFile(directory, key, TEMP_SUFFIX);
+        try {
+            Files.copy(result, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        if (size.addAndGet(length) > maxSize) {
+            evict();
+        }
+        return true;
+    }
+
+    private synchronized void evict() throws IOException {
+        if (size.get() <= maxSize) {
+            return;
+        }
+        List<Path> entries = listEntries();
+        final Map<Path, FileTime> times = new HashMap<>();
+        long total = 0;
+        for (Path entry : entries) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                times.put(entry, attributes.lastModifiedTime());
+                total += attributes.size();
+            } catch (NoSuchFileException e) {
+                // deleted meanwhile
+            }
+        }
+        entries.retainAll(times.keySet());
+        entries.sort(Comparator.comparing(times::get));
+        for (int i = 0; i < entries.size() && total > maxSize; i++) {
+            total -= delete(entries.get(i));
+        }
+        size.set(total);
+    }
+
+    private long delete(Path entry) {
+        try {
+            long length = Files.size(entry);
+            Files.delete(entry);
+            return length;
+        } catch (IOException e) {
+            // already deleted, or still open by a reader on Windows
+            return 0;
+        }
+    }
+
+    private List<Path> listEntries() throws IOException {
+        List<Path> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + ENTRY_SUFFIX)) {
+            for (Path entry : stream) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import javax.xml.transform.stream.StreamSource;
+
+import org.jenkinsci.lib.dtkit.util.converter.CompiledStylesheet.TransformerContext;
+import org.jenkinsci.lib.dtkit.util.io.CompressedStreams;
+
+/**
+ * Converts a large document by transforming chunks of it in parallel with
+ * the same compiled stylesheet.
+ * <p>
+ * The output of each chunk is stored in a temporary file, then the children
+ * of their root elements are merged under the root element of the first
+ * chunk output. The stylesheet must produce an XML document and the result
+ * of a repeated element must not depend on its siblings.
+ */
+class ChunkedConversion {
+
+    @SuppressWarnings("serial")
+    private static class SplitAbortedException extends RuntimeException {
+    }
+
+    private final CompiledStylesheet stylesheet;
+    private final ConversionOptions options;
+    private final XMLChunker chunker;
+    private final Executor executor;
+    private final int maxPendingChunks;
+
+    ChunkedConversion(CompiledStylesheet stylesheet, ConversionOptions options, XMLChunker chunker, Executor executor) {
+        this.stylesheet = stylesheet;
+        this.options = options;
+        this.chunker = chunker;
+        this.executor = executor;
+        // bounds the number of chunks kept in memory
+        this.maxPendingChunks = Runtime.getRuntime().availableProcessors() * 2;
+    }
+
+    void convert(File inputFile, File outFile) throws Exception {
+        final File tmpDir = outFile.getAbsoluteFile().getParentFile();
+        final String systemId = inputFile.toURI().toString();
+        final List<File> parts = new ArrayList<>();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        final Semaphore pendingChunks = new Semaphore(maxPendingChunks);
+        final AtomicBoolean failed = new AtomicBoolean();
+        try {
+            try (InputStream input = CompressedStreams.openInput(inputFile)) {
+                chunker.split(input, systemId, chunk -> {
+                    if (failed.get()) {
+                        // stop reading, the failure is reported below
+                        throw new SplitAbortedException();
+                    }
+                    final File part = File.createTempFile("dtkit-part", ".xml", tmpDir);
+                    parts.add(part);
+
+                    pendingChunks.acquire();
+                    try {
+                        futures.add(CompletableFuture.runAsync(() -> {
+                            try {
+                                transform(chunk, systemId, part);
+                            } catch (Exception e) {
+                                failed.set(true);
+                                throw new CompletionException(e);
+                            } finally {
+                                pendingChunks.release();
+                            }
+                        }, executor));
+                    } catch (RejectedExecutionException e) {
+                        pendingChunks.release();
+                        throw e;
+                    }
+                });
+            } catch (SplitAbortedException e) {
+                // a chunk conversion has failed
+            } finally {
+                // wait for all submitted chunks before remove their files
+                try {
+                    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).join();
+                } catch (CompletionException e) {
+                    // reported below
+                }
+            }
+
+            for (CompletableFuture<Void> future : futures) {
+                try {
+                    future.join();
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause();
+                    throw cause instanceof Exception ? (Exception) cause : e;
+                }
+            }
+
+            try (OutputStream output = CompressedStreams.openOutput(outFile)) {
+                merge(parts, output);
+            }
+        } finally {
+            for (File part : parts) {
+                if (!part.delete()) {
+                    part.deleteOnExit();
+                }
+            }
+        }
+    }
+
+    private void transform(byte[] chunk, String systemId, File part) throws Exception {
+        try (OutputStream output = new FileOutputStream(part); TransformerContext transformer = stylesheet.acquire(options)) {
+            transformer.transform(new StreamSource(new ByteArrayInputStream(chunk), systemId), output);
+        }
+    }
+
+    private void merge(List<File> parts, OutputStream output) throws Exception {
+        XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+        XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+        XMLEventFactory eventFactory = XMLEventFactory.newInstance();
+
+        XMLEventWriter writer = outputFactory.createXMLEventWriter(output, "UTF-8");
+        StartElement root = null;
+        for (File part : parts) {
+            try (InputStream input = new FileInputStream(part)) {
+                root = copyContent(inputFactory.createXMLEventReader(input), writer, root, eventFactory);
+            }
+        }
+        if (root != null) {
+            writer.add(eventFactory.createEndElement(root.getName(), root.getNamespaces()));
+            writer.add(eventFactory.createEndDocument());
+        }
+        writer.close();
+    }
+
+    /*
+     * Copies the children of the root element of a chunk output. The root
+     * element itself is written only for the first chunk.
+     */
+    private StartElement copyContent(XMLEventReader reader, XMLEventWriter writer, StartElement root, XMLEventFactory eventFactory) throws XMLStreamException {
+        try {
+            int depth = 0;
+            while (reader.hasNext()) {
+                XMLEvent event = reader.nextEvent();
+                if (event.isStartElement()) {
+                    depth++;
+                    if (depth == 1) {
+                        if (root == null) {
+                            root = event.asStartElement();
+                            writer.add(eventFactory.createStartDocument("UTF-8", "1.0"));
+                            writer.add(root);
+                        }
+                        continue;
+                    }
+                } else if (event.isEndElement()) {
+                    depth--;
+                    if (depth == 0) {
+                        continue;
+                    }
+                } else if (depth == 0) {
+                    // skip prolog and epilog of the chunk output
+                    continue;
+                }
+                writer.add(event);
+            }
+            return root;
+        } finally {
+            reader.close();
+        }
+    }
+}
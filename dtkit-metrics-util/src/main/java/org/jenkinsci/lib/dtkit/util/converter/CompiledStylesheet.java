@@ -0,0 +1,273 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.converter;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.xml.transform.Source;
+
+import org.jenkinsci.lib.dtkit.util.cache.Dependency;
+
+import net.sf.saxon.om.NodeInfo;
+import net.sf.saxon.om.TreeModel;
+import net.sf.saxon.s9api.Destination;
+import net.sf.saxon.s9api.DocumentBuilder;
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.Serializer;
+import net.sf.saxon.s9api.TeeDestination;
+import net.sf.saxon.s9api.WhitespaceStrippingPolicy;
+import net.sf.saxon.s9api.XsltExecutable;
+import net.sf.saxon.s9api.XsltTransformer;
+
+/**
+ * A compiled stylesheet with the transformers loaded from it.
+ * <p>
+ * The compiled stylesheet is thread safe while transformers and serializers
+ * are not. A {@link TransformerContext} is used by one conversion at a
+ * time, then reset and kept for the next one, whatever thread runs it, so
+ * short-lived threads like virtual threads reuse them as well.
+ */
+class CompiledStylesheet {
+
+    /**
+     * The transformer and serializer used by a conversion to run the
+     * stylesheet.
+     */
+    static class TransformerContext implements AutoCloseable {
+        private final CompiledStylesheet owner;
+        private final XsltExecutable executable;
+        private final Processor processor;
+        private final XsltTransformer transformer;
+        private final Serializer serializer;
+        private ConversionOptions options = ConversionOptions.defaults();
+        private boolean inUse;
+
+        private TransformerContext(CompiledStylesheet owner) {
+            this.owner = owner;
+            this.executable = owner.executable;
+            this.processor = owner.processor;
+            this.transformer = executable.load();
+            this.serializer = processor.newSerializer();
+        }
+
+        /**
+         * Returns a document builder that builds the input tree as the
+         * conversion options ask.
+         *
+         * @return a new document builder
+         */
+        DocumentBuilder newDocumentBuilder() {
+            DocumentBuilder builder = processor.newDocumentBuilder();
+            builder.setLineNumbering(options.isLineNumbering());
+            switch (options.getTreeModel()) {
+            case TINY_TREE_CONDENSED:
+                builder.setTreeModel(TreeModel.TINY_TREE_CONDENSED);
+                break;
+            case LINKED_TREE:
+                builder.setTreeModel(TreeModel.LINKED_TREE);
+                break;
+            default:
+                builder.setTreeModel(TreeModel.TINY_TREE);
+                break;
+            }
+            switch (options.getWhitespaceStripping()) {
+            case ALL:
+                builder.setWhitespaceStrippingPolicy(WhitespaceStrippingPolicy.ALL);
+                break;
+            case IGNORABLE:
+                builder.setWhitespaceStrippingPolicy(WhitespaceStrippingPolicy.IGNORABLE);
+                break;
+            default:
+                builder.setWhitespaceStrippingPolicy(executable.getWhitespaceStrippingPolicy());
+                break;
+            }
+            return builder;
+        }
+
+        /**
+         * Runs the stylesheet on the given source and serializes the result.
+         *
+         * @param source the input document
+         * @param output where write the result
+         * @throws SaxonApiException in case of conversion error
+         */
+        void transform(Source source, OutputStream output) throws SaxonApiException {
+            resetOutputProperties();
+            serializer.setOutputStream(output);
+            transform(source, serializer);
+        }
+
+        /**
+         * Runs the stylesheet on the given source and serializes the result.
+         *
+         * @param source the input document
+         * @param output where write the result
+         * @throws SaxonApiException in case of conversion error
+         */
+        void transform(Source source, Writer output) throws SaxonApiException {
+            resetOutputProperties();
+            serializer.setOutputWriter(output);
+            transform(source, serializer);
+        }
+
+        /**
+         * Runs the stylesheet on the given source, serializes the result and
+         * sends it at the same time to a secondary destination.
+         *
+         * @param source the input document
+         * @param output where write the result
+         * @param secondary the destination that also receives the result
+         * @throws SaxonApiException in case of conversion error
+         */
+        void transform(Source source, OutputStream output, Destination secondary) throws SaxonApiException {
+            resetOutputProperties();
+            serializer.setOutputStream(output);
+            transform(source, new TeeDestination(serializer, secondary));
+        }
+
+        /**
+         * Runs the stylesheet on the given source.
+         *
+         * @param source the input document
+         * @param destination the destination of the result
+         * @throws SaxonApiException in case of conversion error
+         */
+        void transform(Source source, Destination destination) throws SaxonApiException {
+            if (options.isDefaultTree() || source instanceof NodeInfo) {
+                transformer.setSource(source);
+            } else {
+                // the stylesheet strip-space declarations still apply on top
+                transformer.setSource(newDocumentBuilder().build(source).asSource());
+            }
+            transformer.setDestination(destination);
+            transformer.transform();
+        }
+
+        private void resetOutputProperties() {
+            // output properties are all set again, nothing is inherited from
+            // the previous document
+            serializer.setOutputProperty(Serializer.Property.INDENT, options.isIndent() ? "yes" : "no");
+        }
+
+        /**
+         * Releases the state of the last conversion (parameters, message
+         * listeners, source document, destination, serializer output and
+         * properties) and gives the context back to the stylesheet for the
+         * next document, so that an idle context does not hold the trees
+         * and streams of the last conversion.
+         */
+        @Override
+        public void close() {
+            if (!inUse) {
+                return;
+            }
+            transformer.clearParameters();
+            try {
+                transformer.setSource(null);
+            } catch (SaxonApiException e) {
+                // only thrown when a DOM source is wrapped
+            }
+            transformer.setDestination(null);
+            transformer.getUnderlyingController().reset();
+            serializer.setOutputStream(null);
+            for (Serializer.Property property : Serializer.Property.values()) {
+                if (serializer.getOutputProperty(property) != null) {
+                    serializer.setOutputProperty(property, null);
+                }
+            }
+            options = ConversionOptions.defaults();
+            inUse = false;
+            owner.idleTransformers.offer(this);
+        }
+    }
+
+    /**
+     * Maximum number of idle transformer contexts kept by a stylesheet.
+     */
+    private static final int MAX_IDLE_TRANSFORMERS = 2 * Runtime.getRuntime().availableProcessors();
+
+    private final String identity;
+    private final XsltExecutable executable;
+    private final Processor processor;
+    private final List<Dependency> modules;
+    private final BlockingQueue<TransformerContext> idleTransformers = new ArrayBlockingQueue<>(MAX_IDLE_TRANSFORMERS);
+
+    CompiledStylesheet(String identity, XsltExecutable executable, Processor processor, List<Dependency> modules) {
+        StringBuilder sb = new StringBuilder(identity);
+        for (Dependency module : modules) {
+            sb.append('\n').append(module);
+        }
+        this.identity = sb.toString();
+        this.executable = executable;
+        this.processor = processor;
+        this.modules = modules;
+    }
+
+    /**
+     * Returns what identifies the stylesheet: its file path and modification
+     * time, or the digest of its content, followed by the location and the
+     * digest of each module it includes or imports.
+     *
+     * @return the stylesheet identity
+     */
+    String getIdentity() {
+        return identity;
+    }
+
+    /**
+     * Tells whether a module included or imported by the stylesheet has
+     * changed since it was compiled.
+     *
+     * @return {@code true} if the stylesheet should be compiled again
+     */
+    boolean isModified() {
+        return Dependency.isModified(modules);
+    }
+
+    XsltExecutable getExecutable() {
+        return executable;
+    }
+
+    /**
+     * Returns an idle transformer context, or a new one if all are in use.
+     * The context must be closed once the conversion is done.
+     *
+     * @param options the options of the conversion
+     * @return a transformer context ready to be used
+     */
+    TransformerContext acquire(ConversionOptions options) {
+        TransformerContext context = idleTransformers.poll();
+        if (context == null) {
+            context = new TransformerContext(this);
+        }
+        context.options = options;
+        context.inUse = true;
+        return context;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.URIResolver;
+import javax.xml.transform.stream.StreamSource;
+
+import org.jenkinsci.lib.dtkit.util.cache.Dependency;
+import org.jenkinsci.lib.dtkit.util.cache.Digests;
+import org.jenkinsci.lib.dtkit.util.cache.LRUCache;
+import org.jenkinsci.lib.dtkit.util.converter.ConversionService.DTKitEntityresolver;
+import org.jenkinsci.lib.dtkit.util.io.ResourceCache;
+
+import net.sf.saxon.lib.Feature;
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XsltCompiler;
+
+/**
+ * Holds the Saxon processor shared by conversion services and the
+ * stylesheets compiled with it.
+ * <p>
+ * A compiled stylesheet is bound to the processor that has compiled it, so
+ * both have the same lifecycle, managed by {@link ConversionServiceFactory}.
+ * The modules included or imported by a stylesheet are recorded while it is
+ * compiled, a cached stylesheet is compiled again once one of them changes.
+ */
+class ConversionContext {
+
+    /**
+     * Resolves the modules of a stylesheet like the standard resolver and
+     * records them.
+     */
+    private static final class ModuleRecorder implements URIResolver {
+        private final List<Dependency> modules = new ArrayList<>();
+
+        @Override
+        public Source resolve(String href, String base) throws TransformerException {
+            URL url;
+            try {
+                url = base == null ? new URL(href) : new URL(new URL(base), href);
+            } catch (MalformedURLException e) {
+                // let the processor report it
+                return null;
+            }
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            try {
+                modules.add(Dependency.read(url, content));
+            } catch (IOException e) {
+                throw new TransformerException(e);
+            }
+            return new StreamSource(new ByteArrayInputStream(content.toByteArray()), url.toExternalForm());
+        }
+    }
+
+    /**
+     * Maximum number of compiled stylesheets kept in memory.
+     */
+    private static final int STYLESHEET_CACHE_SIZE = 64;
+
+    private final Processor processor;
+    private final LRUCache<String, CompiledStylesheet> stylesheets;
+
+    ConversionContext() {
+        processor = new Processor(false);
+        processor.setConfigurationProperty(Feature.ENTITY_RESOLVER_CLASS, DTKitEntityresolver.class.getName());
+        processor.setConfigurationProperty(Feature.DTD_VALIDATION, false);
+        processor.setConfigurationProperty(Feature.DTD_VALIDATION_RECOVERABLE, true);
+        // remove DTD validation warning messages on system error
+        processor.getUnderlyingConfiguration().setValidation(false);
+
+        stylesheets = new LRUCache<>(STYLESHEET_CACHE_SIZE);
+    }
+
+    Processor getProcessor() {
+        return processor;
+    }
+
+    /**
+     * Returns the compiled stylesheet of the given XSL file. The stylesheet
+     * is compiled only once until the file or one of its modules is
+     * modified.
+     *
+     * @param xslFile the xsl file
+     * @return the compiled stylesheet
+     * @throws Exception in case of compilation error
+     */
+    CompiledStylesheet compile(final File xslFile) throws Exception {
+        final File file = xslFile.getAbsoluteFile();
+        if (!file.isFile()) {
+            throw new FileNotFoundException(file.getPath());
+        }
+        String key = "file:" + file.getPath() + ':' + file.lastModified() + ':' + file.length();
+        return get(key, () -> new StreamSource(file));
+    }
+
+    /**
+     * Returns the compiled stylesheet of the given XSL source. Stream and
+     * reader sources are identified by the digest of their content and
+     * their system id, against which relative includes, imports and
+     * documents are resolved, so the same stylesheet loaded from the
+     * classpath or supplied as a string is compiled only once. The digest
+     * of the sources of {@link ResourceCache} is computed once per
+     * resource.
+     *
+     * @param xslSource the source of the xsl
+     * @return the compiled stylesheet
+     * @throws Exception in case of compilation error
+     */
+    CompiledStylesheet compile(final StreamSource xslSource) throws Exception {
+        final String systemId = xslSource.getSystemId();
+        final String digest = ResourceCache.getDigest(xslSource);
+        if (digest != null) {
+            final InputStream content = xslSource.getInputStream();
+            return get("bytes:" + digest + ':' + systemId, () -> {
+                // the cached resource is read from its start again if the stylesheet is compiled again
+                content.reset();
+                return new StreamSource(content, systemId);
+            });
+        } else if (xslSource.getInputStream() != null) {
+            final byte[] content = Digests.toByteArray(xslSource.getInputStream());
+            return get("bytes:" + Digests.sha256(content) + ':' + systemId, () -> new StreamSource(new ByteArrayInputStream(content), systemId));
+        } else if (xslSource.getReader() != null) {
+            final String content = Digests.toString(xslSource.getReader());
+            return get("chars:" + Digests.sha256(content) + ':' + systemId, () -> new StreamSource(new StringReader(content), systemId));
+        } else if (systemId != null && systemId.startsWith("file:")) {
+            return compile(new File(URI.create(systemId)));
+        } else {
+            return get("uri:" + systemId, () -> new StreamSource(systemId));
+        }
+    }
+
+    private CompiledStylesheet get(String key, Callable<StreamSource> xslSource) throws Exception {
+        CompiledStylesheet stylesheet = stylesheets.get(key, k -> newStylesheet(k, xslSource.call()));
+        if (stylesheet.isModified()) {
+            // a module has changed since the stylesheet was compiled
+            stylesheets.invalidate(key);
+            stylesheet = stylesheets.get(key, k -> newStylesheet(k, xslSource.call()));
+        }
+        return stylesheet;
+    }
+
+    private CompiledStylesheet newStylesheet(String identity, StreamSource xslSource) throws SaxonApiException {
+        // XsltCompiler is not thread safe while the Processor is
+        XsltCompiler compiler = processor.newXsltCompiler();
+        ModuleRecorder modules = new ModuleRecorder();
+        compiler.setURIResolver(modules);
+        return new CompiledStylesheet(identity, compiler.compile(xslSource), processor, modules.modules);
+    }
+
+    /**
+     * @return the number of compiled stylesheets kept
+     */
+    int getStylesheetCount() {
+        return stylesheets.size();
+    }
+
+    /**
+     * Releases all compiled stylesheets.
+     */
+    void close() {
+        stylesheets.clear();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.converter;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Controls how a {@link ConversionService} builds the input documents and
+ * serializes the results.
+ * <p>
+ * Options are immutable, each {@code with} method returns a copy. The
+ * {@link #defaults() default} options keep the historical behaviour: the
+ * output is indented and the input tree is built by Saxon as the
+ * stylesheet asks. The {@link #lean() lean} preset minimizes the memory
+ * used by the input tree and the size of the output of large reports.
+ */
+public final class ConversionOptions implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Which whitespace-only text nodes are removed from the input document.
+     */
+    public enum WhitespaceStripping {
+        /**
+         * Only the ones matched by the <code>xsl:strip-space</code>
+         * declarations of the stylesheet.
+         */
+        STYLESHEET,
+        /**
+         * The ones declared ignorable by a DTD or a schema, plus the
+         * stylesheet ones.
+         */
+        IGNORABLE,
+        /**
+         * All whitespace-only text nodes, except where
+         * <code>xml:space="preserve"</code> is set.
+         */
+        ALL
+    }
+
+    /**
+     * The Saxon tree implementation of the input document.
+     */
+    public enum TreeModel {
+        /**
+         * The default Saxon tree, compact and fast to navigate.
+         */
+        TINY_TREE,
+        /**
+         * A tiny tree where identical text and attribute values are stored
+         * once, smaller for repetitive reports but slower to build.
+         */
+        TINY_TREE_CONDENSED,
+        /**
+         * A tree of linked node objects, bigger but cheaper to update.
+         */
+        LINKED_TREE
+    }
+
+    private static final ConversionOptions DEFAULTS = new ConversionOptions(true, WhitespaceStripping.STYLESHEET, false, TreeModel.TINY_TREE);
+
+    private static final ConversionOptions LEAN = new ConversionOptions(false, WhitespaceStripping.ALL, false, TreeModel.TINY_TREE_CONDENSED);
+
+    private final boolean indent;
+    private final WhitespaceStripping whitespaceStripping;
+    private final boolean lineNumbering;
+    private final TreeModel treeModel;
+
+    private ConversionOptions(boolean indent, WhitespaceStripping whitespaceStripping, boolean lineNumbering, TreeModel treeModel) {
+        this.indent = indent;
+        this.whitespaceStripping = Objects.requireNonNull(whitespaceStripping, "whitespaceStripping");
+        this.lineNumbering = lineNumbering;
+        this.treeModel = Objects.requireNonNull(treeModel, "treeModel");
+    }
+
+    /**
+     * Returns the options used when none are given: indented output, input
+     * whitespace stripped as declared by the stylesheet, no line numbers,
+     * tiny tree.
+     *
+     * @return the default options
+     */
+    public static ConversionOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Returns the options for large reports: output not indented, all
+     * whitespace-only text nodes stripped from the input, no line numbers,
+     * condensed tiny tree.
+     * <p>
+     * Stylesheets that copy whitespace-only text nodes of the input to the
+     * output produce a different, but equivalent, result.
+     *
+     * @return the lean options
+     */
+    public static ConversionOptions lean() {
+        return LEAN;
+    }
+
+    public boolean isIndent() {
+        return indent;
+    }
+
+    public WhitespaceStripping getWhitespaceStripping() {
+        return whitespaceStripping;
+    }
+
+    public boolean isLineNumbering() {
+        return lineNumbering;
+    }
+
+    public TreeModel getTreeModel() {
+        return treeModel;
+    }
+
+    /**
+     * @param indent true to indent the serialized output
+     * @return a copy of these options with the given indentation
+     */
+    public ConversionOptions withIndent(boolean indent) {
+        return new ConversionOptions(indent, whitespaceStripping, lineNumbering, treeModel);
+    }
+
+    /**
+     * @param whitespaceStripping which whitespace-only text nodes are
+     *                            removed from the input
+     * @return a copy of these options with the given stripping policy
+     */
+    public ConversionOptions withWhitespaceStripping(WhitespaceStripping whitespaceStripping) {
+        return new ConversionOptions(indent, whitespaceStripping, lineNumbering, treeModel);
+    }
+
+    /**
+     * @param lineNumbering true to keep the line numbers of the input nodes,
+     *                      for example for <code>saxon:line-number()</code>
+     * @return a copy of these options with the given line numbering
+     */
+    public ConversionOptions withLineNumbering(boolean lineNumbering) {
+        return new ConversionOptions(indent, whitespaceStripping, lineNumbering, treeModel);
+    }
+
+    /**
+     * @param treeModel the tree implementation of the input document
+     * @return a copy of these options with the given tree model
+     */
+    public ConversionOptions withTreeModel(TreeModel treeModel) {
+        return new ConversionOptions(indent, whitespaceStripping, lineNumbering, treeModel);
+    }
+
+    /**
+     * Tells if the input tree is built as Saxon does by default, in which
+     * case the input source is given as is to the transformer.
+     *
+     * @return true if no option changes how the input tree is built
+     */
+    boolean isDefaultTree() {
+        return whitespaceStripping == WhitespaceStripping.STYLESHEET && !lineNumbering && treeModel == TreeModel.TINY_TREE;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ConversionOptions)) {
+            return false;
+        }
+        ConversionOptions other = (ConversionOptions) obj;
+        return indent == other.indent && whitespaceStripping == other.whitespaceStripping && lineNumbering == other.lineNumbering && treeModel == other.treeModel;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(indent, whitespaceStripping, lineNumbering, treeModel);
+    }
+
+    @Override
+    public String toString() {
+        return "ConversionOptions[indent=" + indent + ", whitespaceStripping=" + whitespaceStripping + ", lineNumbering=" + lineNumbering + ", treeModel=" + treeModel + "]";
+    }
+}
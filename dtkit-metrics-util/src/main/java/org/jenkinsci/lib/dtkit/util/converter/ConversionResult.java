@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.converter;
+
+import java.io.File;
+import java.io.Serializable;
+
+/**
+ * The outcome of the conversion of a single file of a batch.
+ */
+public class ConversionResult implements Serializable {
+    private static final long serialVersionUID = -2301658392254734913L;
+
+    private final File inputFile;
+    private final File outputFile;
+    private final ConversionException exception;
+
+    public ConversionResult(File inputFile, File outputFile, ConversionException exception) {
+        this.inputFile = inputFile;
+        this.outputFile = outputFile;
+        this.exception = exception;
+    }
+
+    public File getInputFile() {
+        return inputFile;
+    }
+
+    public File getOutputFile() {
+        return outputFile;
+    }
+
+    /**
+     * Returns if the input file has been converted.
+     *
+     * @return {@code true} if the conversion succeeded, {@code false}
+     *         otherwise
+     */
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * Returns the reason of the failure.
+     *
+     * @return the conversion exception or {@code null} if the conversion
+     *         succeeded
+     */
+    public ConversionException getException() {
+        return exception;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(inputFile).append(" -> ").append(outputFile);
+        if (exception != null) {
+            sb.append(" failed: ").append(exception.getMessage());
+        }
+        return sb.toString();
+    }
+}
@@ -24,37 +24,120 @@
 package org.jenkinsci.lib.dtkit.util.converter;
 
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.ValidatorHandler;
 
+import org.jenkinsci.lib.dtkit.util.cache.Digests;
+import org.jenkinsci.lib.dtkit.util.cache.ResultCache;
+import org.jenkinsci.lib.dtkit.util.concurrent.AsyncExecutors;
+import org.jenkinsci.lib.dtkit.util.converter.CompiledStylesheet.TransformerContext;
+import org.jenkinsci.lib.dtkit.util.converter.MemoryAdmissionController.Permit;
+import org.jenkinsci.lib.dtkit.util.io.CompressedStreams;
+import org.jenkinsci.lib.dtkit.util.validator.ValidationError;
+import org.jenkinsci.lib.dtkit.util.validator.ValidationException;
+import org.jenkinsci.lib.dtkit.util.validator.ValidationHandler;
+import org.jenkinsci.lib.dtkit.util.validator.ValidationServiceFactory;
+import org.w3c.dom.Document;
+import org.xml.sax.ContentHandler;
 import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
 
-import net.sf.saxon.lib.Feature;
-import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.BuildingContentHandler;
+import net.sf.saxon.s9api.DOMDestination;
+import net.sf.saxon.s9api.Destination;
+import net.sf.saxon.s9api.DocumentBuilder;
+import net.sf.saxon.s9api.SAXDestination;
 import net.sf.saxon.s9api.SaxonApiException;
-import net.sf.saxon.s9api.Serializer;
-import net.sf.saxon.s9api.Xslt30Transformer;
-import net.sf.saxon.s9api.XsltCompiler;
-import net.sf.saxon.s9api.XsltExecutable;
+import net.sf.saxon.s9api.XdmDestination;
+import net.sf.saxon.s9api.XdmNode;
 
 @SuppressWarnings("serial")
 public class ConversionService implements Serializable {
 
+    /**
+     * Changed when the output of a conversion changes for the same input,
+     * to ignore the results cached by previous versions.
+     */
+    private static final String RESULT_KEY_VERSION = "1";
+
+    /**
+     * Shared by all threads, the factory is configured once and only used
+     * to create parsers.
+     */
+    private static final SAXParserFactory PARSER_FACTORY = newParserFactory();
+
+    private transient ConversionContext context;
+
+    private final ConversionOptions options;
+
+    /**
+     * Creates a service that shares the processor of
+     * {@link ConversionServiceFactory}.
+     */
+    public ConversionService() {
+        this(ConversionOptions.defaults());
+    }
+
+    /**
+     * Creates a service that shares the processor of
+     * {@link ConversionServiceFactory} and applies the given options to all
+     * its conversions.
+     *
+     * @param options the conversion options
+     */
+    public ConversionService(ConversionOptions options) {
+        this(null, options);
+    }
+
+    ConversionService(ConversionContext context, ConversionOptions options) {
+        this.context = context;
+        this.options = options != null ? options : ConversionOptions.defaults();
+    }
+
+    /**
+     * Returns the options applied to the conversions of this service.
+     *
+     * @return the conversion options
+     */
+    public ConversionOptions getOptions() {
+        return options;
+    }
+
     /**
      * Skip DTD Entity resolution.
      *
@@ -67,8 +150,44 @@ public class ConversionService implements Serializable {
         }
     }
 
+    /**
+     * Compiles a stylesheet into the cache shared by the services, so the
+     * first conversion using it does not pay the compilation.
+     *
+     * @param xslFile the xsl file
+     * @throws ConversionException if the stylesheet could not be compiled
+     */
+    public void compile(File xslFile) throws ConversionException {
+        try {
+            getContext().compile(xslFile);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+    }
+
+    /**
+     * Compiles a stylesheet into the cache shared by the services, so the
+     * first conversion using the same stylesheet content does not pay the
+     * compilation.
+     *
+     * @param xslSource the source of the xsl
+     * @throws ConversionException if the stylesheet could not be compiled
+     */
+    public void compile(StreamSource xslSource) throws ConversionException {
+        try {
+            getContext().compile(xslSource);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+    }
+
     /**
      * Launches an XSLT conversion from a source to an OutputStream.
+     * <p>
+     * Gzip compressed input files are decompressed on the fly, and the output
+     * file is compressed when its name ends with
+     * {@value CompressedStreams#GZIP_EXTENSION}. This applies to every
+     * conversion method that reads or writes files.
      *
      * @param xslFile   the xsl file
      * @param inputFile the input file
@@ -77,9 +196,9 @@ public class ConversionService implements Serializable {
      * @throws ConversionException the convert exception
      */
     public void convert(File xslFile, File inputFile, File outFile, Map<String, Object> params) throws ConversionException {
-        try (InputStream xsl = new FileInputStream(xslFile)) {
-            convert(new StreamSource(xsl), inputFile, outFile, params);
-        } catch (IOException e) {
+        try {
+            convert(getContext().compile(xslFile), inputFile, outFile, params);
+        } catch (Exception e) {
             throw asConversionException(e);
         }
     }
@@ -120,9 +239,9 @@ public class ConversionService implements Serializable {
      * @throws ConversionException the convert exception
      */
     public void convert(StreamSource xslSource, File inputFile, File outFile, Map<String, Object> params) throws ConversionException {
-        try (InputStream input = new FileInputStream(inputFile)) {
-            convert(xslSource, new InputSource(input), outFile, params);
-        } catch (IOException e) {
+        try {
+            convert(getContext().compile(xslSource), inputFile, outFile, params);
+        } catch (Exception e) {
             throw asConversionException(e);
         }
     }
@@ -137,9 +256,12 @@ public class ConversionService implements Serializable {
      * @throws ConversionException the convert exception
      */
     public void convert(File xslFile, InputSource inputFile, File outFile, Map<String, Object> params) throws ConversionException {
-        try (InputStream xsl = new FileInputStream(xslFile)) {
-            convert(new StreamSource(xsl), inputFile, outFile, params);
-        } catch (IOException e) {
+        try {
+            CompiledStylesheet stylesheet = getContext().compile(xslFile);
+            try (OutputStream os = CompressedStreams.openOutput(outFile)) {
+                convert(stylesheet, inputFile, os, params);
+            }
+        } catch (Exception e) {
             throw asConversionException(e);
         }
     }
@@ -155,9 +277,11 @@ public class ConversionService implements Serializable {
      * @throws ConversionException the convert exception
      */
     public String convertAndReturn(File xslFile, InputSource inputFile, Map<String, Object> params) throws ConversionException {
-        try (InputStream xsl = new FileInputStream(xslFile)) {
-            return convertAndReturn(new StreamSource(xsl), inputFile, params);
-        } catch (IOException e) {
+        try {
+            StringWriter output = new StringWriter();
+            convert(getContext().compile(xslFile), inputFile, output, params);
+            return output.toString();
+        } catch (Exception e) {
             throw asConversionException(e);
         }
     }
@@ -173,8 +297,8 @@ public class ConversionService implements Serializable {
      * @throws ConversionException the convert exception
      */
     public String convertAndReturn(File xslFile, File inputFile, Map<String, Object> params) throws ConversionException {
-        try (InputStream xsl = new FileInputStream(xslFile); InputStream input = new FileInputStream(inputFile)) {
-            return convertAndReturn(new StreamSource(xsl), new InputSource(input), params);
+        try (Permit permit = admit(inputFile); InputStream input = CompressedStreams.openInput(inputFile)) {
+            return convertAndReturn(xslFile, new InputSource(input), params);
         } catch (IOException e) {
             throw asConversionException(e);
         }
@@ -191,7 +315,7 @@ public class ConversionService implements Serializable {
      * @throws ConversionException the convert exception
      */
     public String convertAndReturn(StreamSource xslSource, File inputFile, Map<String, Object> params) throws ConversionException {
-        try (InputStream input = new FileInputStream(inputFile)) {
+        try (Permit permit = admit(inputFile); InputStream input = CompressedStreams.openInput(inputFile)) {
             return convertAndReturn(xslSource, new InputSource(input), params);
         } catch (IOException e) {
             throw asConversionException(e);
@@ -209,9 +333,10 @@ public class ConversionService implements Serializable {
      * @throws ConversionException the convert exception
      */
     public String convertAndReturn(StreamSource xslSource, InputSource inputFile, Map<String, Object> params) throws ConversionException {
-        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
-            convert(xslSource, inputFile, output, params);
-            return new String(output.toByteArray(), "UTF-8");
+        try {
+            StringWriter output = new StringWriter();
+            convert(getContext().compile(xslSource), inputFile, output, params);
+            return output.toString();
         } catch (Exception e) {
             throw asConversionException(e);
         }
@@ -229,58 +354,962 @@ public class ConversionService implements Serializable {
      * @throws ConversionException the convert exception
      */
     public void convert(StreamSource xslSource, InputSource inputFile, File outFile, Map<String, Object> params) throws ConversionException {
-        try (OutputStream os = new FileOutputStream(outFile)) {
-            convert(xslSource, inputFile, os, params);
+        try (OutputStream os = CompressedStreams.openOutput(outFile)) {
+            convert(getContext().compile(xslSource), inputFile, os, params);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+    }
+
+    /**
+     * Launches an XSLT conversion from a file to a file.
+     * <p>
+     * The input file is read through its channel with a pooled buffer,
+     * which avoids to allocate a new buffer for each converted file.
+     *
+     * @param xslFile   the xsl file
+     * @param inputFile the input file
+     * @param outFile   the output file
+     * @param params    the parameter map
+     * @throws ConversionException the convert exception
+     */
+    public void convert(File xslFile, Path inputFile, Path outFile, Map<String, Object> params) throws ConversionException {
+        try {
+            convert(getContext().compile(xslFile), inputFile, outFile, params);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+    }
+
+    /**
+     * Launches an XSLT conversion from a file to a file.
+     *
+     * @param xslSource the source of the xsl
+     * @param inputFile the input file
+     * @param outFile   the output file
+     * @param params    the parameter map
+     * @throws ConversionException the convert exception
+     * @see #convert(File, Path, Path, Map)
+     */
+    public void convert(StreamSource xslSource, Path inputFile, Path outFile, Map<String, Object> params) throws ConversionException {
+        try {
+            convert(getContext().compile(xslSource), inputFile, outFile, params);
         } catch (Exception e) {
             throw asConversionException(e);
         }
     }
 
-    private void convert(StreamSource xslSource, InputSource inputFile, OutputStream output, Map<String, Object> params) throws Exception {
-        javax.xml.parsers.DocumentBuilderFactory factory = javax.xml.parsers.DocumentBuilderFactory.newInstance();
-        factory.setExpandEntityReferences(false);
-        javax.xml.parsers.DocumentBuilder builder = factory.newDocumentBuilder();
-        builder.setEntityResolver(new EntityResolver() {
-            @Override
-            public InputSource resolveEntity(String publicId, String systemId)
-                    throws SAXException, IOException {
-                return new InputSource(new StringReader(""));
+    /**
+     * Launches an XSLT conversion from a file.
+     *
+     * @param xslFile   the xsl file
+     * @param inputFile the input file
+     * @param params    the parameter map
+     * @return the converted string
+     * @throws ConversionException the convert exception
+     * @see #convert(File, Path, Path, Map)
+     */
+    public String convertAndReturn(File xslFile, Path inputFile, Map<String, Object> params) throws ConversionException {
+        try (Permit permit = admit(inputFile); InputStream input = CompressedStreams.openInput(inputFile)) {
+            return convertAndReturn(xslFile, newInputSource(input, inputFile), params);
+        } catch (IOException e) {
+            throw asConversionException(e);
+        }
+    }
+
+    /**
+     * Launches an XSLT conversion from a file.
+     *
+     * @param xslSource the source of the xsl
+     * @param inputFile the input file
+     * @param params    the parameter map
+     * @return the converted string
+     * @throws ConversionException the convert exception
+     * @see #convert(File, Path, Path, Map)
+     */
+    public String convertAndReturn(StreamSource xslSource, Path inputFile, Map<String, Object> params) throws ConversionException {
+        try (Permit permit = admit(inputFile); InputStream input = CompressedStreams.openInput(inputFile)) {
+            return convertAndReturn(xslSource, newInputSource(input, inputFile), params);
+        } catch (IOException e) {
+            throw asConversionException(e);
+        }
+    }
+
+    /**
+     * Launches an XSLT conversion from a source to a Writer.
+     *
+     * @param xslFile   the xsl file
+     * @param inputFile the input file
+     * @param output    the writer where write the result
+     * @param params    the parameter map
+     * @throws ConversionException the convert exception
+     */
+    public void convert(File xslFile, InputSource inputFile, Writer output, Map<String, Object> params) throws ConversionException {
+        try {
+            convert(getContext().compile(xslFile), inputFile, output, params);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+    }
+
+    /**
+     * Launches an XSLT conversion from a source to a Writer.
+     *
+     * @param xslSource the source of the xsl
+     * @param inputFile the input file
+     * @param output    the writer where write the result
+     * @param params    the parameter map
+     * @throws ConversionException the convert exception
+     */
+    public void convert(StreamSource xslSource, InputSource inputFile, Writer output, Map<String, Object> params) throws ConversionException {
+        try {
+            convert(getContext().compile(xslSource), inputFile, output, params);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+    }
+
+    /**
+     * Launches an XSLT conversion from a source and pushes the result as SAX
+     * events to the given content handler, without serializing it.
+     *
+     * @param xslFile   the xsl file
+     * @param inputFile the input file
+     * @param handler   the content handler that receives the result
+     * @param params    the parameter map
+     * @throws ConversionException the convert exception
+     */
+    public void convert(File xslFile, InputSource inputFile, ContentHandler handler, Map<String, Object> params) throws ConversionException {
+        try {
+            convert(getContext().compile(xslFile), inputFile, new SAXDestination(handler), params);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+    }
+
+    /**
+     * Launches an XSLT conversion from a source and pushes the result as SAX
+     * events to the given content handler, without serializing it.
+     *
+     * @param xslSource the source of the xsl
+     * @param inputFile the input file
+     * @param handler   the content handler that receives the result
+     * @param params    the parameter map
+     * @throws ConversionException the convert exception
+     */
+    public void convert(StreamSource xslSource, InputSource inputFile, ContentHandler handler, Map<String, Object> params) throws ConversionException {
+        try {
+            convert(getContext().compile(xslSource), inputFile, new SAXDestination(handler), params);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+    }
+
+    /**
+     * Launches an XSLT conversion from a source and returns the result tree.
+     *
+     * @param xslFile   the xsl file
+     * @param inputFile the input file
+     * @param params    the parameter map
+     * @return the root node of the result tree
+     * @throws ConversionException the convert exception
+     */
+    public XdmNode convertToNode(File xslFile, InputSource inputFile, Map<String, Object> params) throws ConversionException {
+        try {
+            XdmDestination destination = new XdmDestination();
+            convert(getContext().compile(xslFile), inputFile, destination, params);
+            return destination.getXdmNode();
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+    }
+
+    /**
+     * Launches an XSLT conversion from a source and returns the result tree.
+     *
+     * @param xslSource the source of the xsl
+     * @param inputFile the input file
+     * @param params    the parameter map
+     * @return the root node of the result tree
+     * @throws ConversionException the convert exception
+     */
+    public XdmNode convertToNode(StreamSource xslSource, InputSource inputFile, Map<String, Object> params) throws ConversionException {
+        try {
+            XdmDestination destination = new XdmDestination();
+            convert(getContext().compile(xslSource), inputFile, destination, params);
+            return destination.getXdmNode();
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+    }
+
+    /**
+     * Launches an XSLT conversion from a source and returns the result as a
+     * DOM document.
+     *
+     * @param xslFile   the xsl file
+     * @param inputFile the input file
+     * @param params    the parameter map
+     * @return the result document
+     * @throws ConversionException the convert exception
+     */
+    public Document convertToDocument(File xslFile, InputSource inputFile, Map<String, Object> params) throws ConversionException {
+        try {
+            Document document = newDocument();
+            convert(getContext().compile(xslFile), inputFile, new DOMDestination(document), params);
+            return document;
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+    }
+
+    /**
+     * Launches an XSLT conversion from a source and returns the result as a
+     * DOM document.
+     *
+     * @param xslSource the source of the xsl
+     * @param inputFile the input file
+     * @param params    the parameter map
+     * @return the result document
+     * @throws ConversionException the convert exception
+     */
+    public Document convertToDocument(StreamSource xslSource, InputSource inputFile, Map<String, Object> params) throws ConversionException {
+        try {
+            Document document = newDocument();
+            convert(getContext().compile(xslSource), inputFile, new DOMDestination(document), params);
+            return document;
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+    }
+
+    /**
+     * Launches an XSLT conversion and validates the result against the given
+     * XSDs while it is written to the output file.
+     *
+     * @param xslFile          the xsl file
+     * @param inputFile        the input file
+     * @param outFile          the output file
+     * @param outputXsdSources the XSDs of the output format
+     * @param params           the parameter map
+     * @return the validation errors of the output, empty if the output is
+     *         valid
+     * @throws ConversionException the convert exception
+     * @throws ValidationException when the XSDs could not be compiled
+     * @see #convertAndValidate(StreamSource, File, File, Source[], Map)
+     */
+    public List<ValidationError> convertAndValidate(File xslFile, File inputFile, File outFile, Source[] outputXsdSources, Map<String, Object> params) throws ConversionException, ValidationException {
+        CompiledStylesheet stylesheet;
+        try {
+            stylesheet = getContext().compile(xslFile);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+        return convertAndValidate(stylesheet, inputFile, outFile, outputXsdSources, params);
+    }
+
+    /**
+     * Launches an XSLT conversion and validates the result against the given
+     * XSDs while it is written to the output file.
+     * <p>
+     * The output events are sent to both the serializer and a schema
+     * validator, so the output file does not need to be read again to be
+     * validated. Because the output is validated before it is serialized,
+     * validation errors do not carry the line number.
+     *
+     * @param xslSource        the source of the xsl
+     * @param inputFile        the input file
+     * @param outFile          the output file
+     * @param outputXsdSources the XSDs of the output format
+     * @param params           the parameter map
+     * @return the validation errors of the output, empty if the output is
+     *         valid
+     * @throws ConversionException the convert exception
+     * @throws ValidationException when the XSDs could not be compiled
+     */
+    public List<ValidationError> convertAndValidate(StreamSource xslSource, File inputFile, File outFile, Source[] outputXsdSources, Map<String, Object> params) throws ConversionException, ValidationException {
+        CompiledStylesheet stylesheet;
+        try {
+            stylesheet = getContext().compile(xslSource);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+        return convertAndValidate(stylesheet, inputFile, outFile, outputXsdSources, params);
+    }
+
+    private List<ValidationError> convertAndValidate(CompiledStylesheet stylesheet, File inputFile, File outFile, Source[] outputXsdSources, Map<String, Object> params) throws ConversionException, ValidationException {
+        ValidationHandler handler = new ValidationHandler();
+        ValidatorHandler validator = ValidationServiceFactory.getInstance().newValidatorHandler(outputXsdSources, handler);
+        try (Permit permit = admit(inputFile); InputStream input = CompressedStreams.openInput(inputFile); //
+                OutputStream output = CompressedStreams.openOutput(outFile); //
+                TransformerContext transformer = stylesheet.acquire(options)) {
+            transformer.transform(asSource(new InputSource(input)), output, new SAXDestination(validator));
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+        return handler.getErrors();
+    }
+
+    /**
+     * Validates an input file against the given XSDs and converts it if it
+     * is valid, parsing the input file only once.
+     *
+     * @param xslFile          the xsl file
+     * @param inputFile        the input file
+     * @param outFile          the output file
+     * @param inputXsdSources  the XSDs of the input file
+     * @param params           the parameter map
+     * @param stopOnFirstError stop to read the input file at the first
+     *                         validation error
+     * @return the validation errors of the input file, empty if the file is
+     *         valid and has been converted
+     * @throws ConversionException the convert exception
+     * @throws ValidationException when the XSDs could not be compiled
+     * @see #validateAndConvert(StreamSource, File, File, Source[], Map, boolean)
+     */
+    public List<ValidationError> validateAndConvert(File xslFile, File inputFile, File outFile, Source[] inputXsdSources, Map<String, Object> params, boolean stopOnFirstError) throws ConversionException, ValidationException {
+        CompiledStylesheet stylesheet;
+        try {
+            stylesheet = getContext().compile(xslFile);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+        return validateAndConvert(stylesheet, inputFile, outFile, inputXsdSources, params, stopOnFirstError);
+    }
+
+    /**
+     * Validates an input file against the given XSDs and converts it if it
+     * is valid, parsing the input file only once.
+     * <p>
+     * The parser events are validated and, at the same time, used to build
+     * the tree to convert. When the input file is not valid, or not well
+     * formed, the output file is not written.
+     *
+     * @param xslSource        the source of the xsl
+     * @param inputFile        the input file
+     * @param outFile          the output file
+     * @param inputXsdSources  the XSDs of the input file
+     * @param params           the parameter map
+     * @param stopOnFirstError stop to read the input file at the first
+     *                         validation error
+     * @return the validation errors of the input file, empty if the file is
+     *         valid and has been converted
+     * @throws ConversionException the convert exception
+     * @throws ValidationException when the XSDs could not be compiled
+     */
+    public List<ValidationError> validateAndConvert(StreamSource xslSource, File inputFile, File outFile, Source[] inputXsdSources, Map<String, Object> params, boolean stopOnFirstError) throws ConversionException, ValidationException {
+        CompiledStylesheet stylesheet;
+        try {
+            stylesheet = getContext().compile(xslSource);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+        return validateAndConvert(stylesheet, inputFile, outFile, inputXsdSources, params, stopOnFirstError);
+    }
+
+    private List<ValidationError> validateAndConvert(CompiledStylesheet stylesheet, File inputFile, File outFile, Source[] inputXsdSources, Map<String, Object> params, final boolean stopOnFirstError) throws ConversionException, ValidationException {
+        final ValidationHandler handler = new ValidationHandler();
+        ErrorHandler errorHandler = handler;
+        if (stopOnFirstError) {
+            errorHandler = new ErrorHandler() {
+                @Override
+                public void warning(SAXParseException exception) throws SAXException {
+                    handler.warning(exception);
+                }
+
+                @Override
+                public void error(SAXParseException exception) throws SAXException {
+                    handler.error(exception);
+                    throw exception;
+                }
+
+                @Override
+                public void fatalError(SAXParseException exception) throws SAXException {
+                    handler.fatalError(exception);
+                    throw exception;
+                }
+            };
+        }
+        ValidatorHandler validator = ValidationServiceFactory.getInstance().newValidatorHandler(inputXsdSources, errorHandler);
+
+        try (Permit permit = admit(inputFile); TransformerContext transformer = stylesheet.acquire(options)) {
+            // validate and build the tree from the same parser events
+            DocumentBuilder documentBuilder = transformer.newDocumentBuilder();
+            documentBuilder.setBaseURI(inputFile.toURI());
+            BuildingContentHandler treeBuilder = documentBuilder.newBuildingContentHandler();
+            validator.setContentHandler(treeBuilder);
+
+            XMLReader reader = PARSER_FACTORY.newSAXParser().getXMLReader();
+            reader.setEntityResolver(new DTKitEntityresolver());
+            reader.setErrorHandler(errorHandler);
+            reader.setContentHandler(validator);
+            try (InputStream input = CompressedStreams.openInput(inputFile)) {
+                InputSource source = new InputSource(input);
+                source.setSystemId(inputFile.toURI().toString());
+                reader.parse(source);
+            } catch (SAXParseException e) {
+                // already collected by the error handler
+                if (handler.getErrors().isEmpty()) {
+                    throw e;
+                }
+            }
+
+            if (!handler.getErrors().isEmpty()) {
+                return handler.getErrors();
+            }
+
+            try (OutputStream output = CompressedStreams.openOutput(outFile)) {
+                transformer.transform(treeBuilder.getDocumentNode().asSource(), output);
+            }
+            return handler.getErrors();
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+    }
+
+    /**
+     * Launches an XSLT conversion from a file to a file on the
+     * {@link AsyncExecutors#getDefault() default executor}, virtual threads
+     * on Java 21 or newer.
+     *
+     * @param xslFile   the xsl file
+     * @param inputFile the input file
+     * @param outFile   the output file
+     * @param params    the parameter map
+     * @return a future completed when the output file is written, or
+     *         completed exceptionally with a {@link ConversionException}
+     */
+    public CompletableFuture<Void> convertAsync(File xslFile, File inputFile, File outFile, Map<String, Object> params) {
+        return convertAsync(xslFile, inputFile, outFile, params, AsyncExecutors.getDefault());
+    }
+
+    /**
+     * Launches an XSLT conversion from a file to a file on the given
+     * executor.
+     *
+     * @param xslFile   the xsl file
+     * @param inputFile the input file
+     * @param outFile   the output file
+     * @param params    the parameter map
+     * @param executor  the executor that runs the conversion
+     * @return a future completed when the output file is written, or
+     *         completed exceptionally with a {@link ConversionException}
+     */
+    public CompletableFuture<Void> convertAsync(final File xslFile, final File inputFile, final File outFile, final Map<String, Object> params, Executor executor) {
+        return supplyAsync(() -> {
+            convert(xslFile, inputFile, outFile, params);
+            return null;
+        }, executor);
+    }
+
+    /**
+     * Launches an XSLT conversion from a file to a file on the
+     * {@link AsyncExecutors#getDefault() default executor}, virtual threads
+     * on Java 21 or newer.
+     *
+     * @param xslSource the source of the xsl, read before this method returns
+     * @param inputFile the input file
+     * @param outFile   the output file
+     * @param params    the parameter map
+     * @return a future completed when the output file is written, or
+     *         completed exceptionally with a {@link ConversionException}
+     */
+    public CompletableFuture<Void> convertAsync(StreamSource xslSource, File inputFile, File outFile, Map<String, Object> params) {
+        return convertAsync(xslSource, inputFile, outFile, params, AsyncExecutors.getDefault());
+    }
+
+    /**
+     * Launches an XSLT conversion from a file to a file on the given
+     * executor. The stylesheet is compiled by the calling thread, so the xsl
+     * source can be closed once this method returns.
+     *
+     * @param xslSource the source of the xsl
+     * @param inputFile the input file
+     * @param outFile   the output file
+     * @param params    the parameter map
+     * @param executor  the executor that runs the conversion
+     * @return a future completed when the output file is written, or
+     *         completed exceptionally with a {@link ConversionException}
+     */
+    public CompletableFuture<Void> convertAsync(StreamSource xslSource, final File inputFile, final File outFile, final Map<String, Object> params, Executor executor) {
+        final CompiledStylesheet stylesheet;
+        try {
+            stylesheet = getContext().compile(xslSource);
+        } catch (Exception e) {
+            return failedFuture(asConversionException(e));
+        }
+        return supplyAsync(() -> {
+            convert(stylesheet, inputFile, outFile, params);
+            return null;
+        }, executor);
+    }
+
+    /**
+     * Launches an XSLT conversion from a file on the
+     * {@link AsyncExecutors#getDefault() default executor}, virtual threads
+     * on Java 21 or newer.
+     *
+     * @param xslFile   the xsl file
+     * @param inputFile the input file
+     * @param params    the parameter map
+     * @return a future of the converted string, or completed exceptionally
+     *         with a {@link ConversionException}
+     */
+    public CompletableFuture<String> convertAndReturnAsync(File xslFile, File inputFile, Map<String, Object> params) {
+        return convertAndReturnAsync(xslFile, inputFile, params, AsyncExecutors.getDefault());
+    }
+
+    /**
+     * Launches an XSLT conversion from a file on the given executor.
+     *
+     * @param xslFile   the xsl file
+     * @param inputFile the input file
+     * @param params    the parameter map
+     * @param executor  the executor that runs the conversion
+     * @return a future of the converted string, or completed exceptionally
+     *         with a {@link ConversionException}
+     */
+    public CompletableFuture<String> convertAndReturnAsync(final File xslFile, final File inputFile, final Map<String, Object> params, Executor executor) {
+        return supplyAsync(() -> convertAndReturn(xslFile, inputFile, params), executor);
+    }
+
+    /**
+     * Launches an XSLT conversion from a file on the
+     * {@link AsyncExecutors#getDefault() default executor}, virtual threads
+     * on Java 21 or newer.
+     *
+     * @param xslSource the source of the xsl, read before this method returns
+     * @param inputFile the input file
+     * @param params    the parameter map
+     * @return a future of the converted string, or completed exceptionally
+     *         with a {@link ConversionException}
+     */
+    public CompletableFuture<String> convertAndReturnAsync(StreamSource xslSource, File inputFile, Map<String, Object> params) {
+        return convertAndReturnAsync(xslSource, inputFile, params, AsyncExecutors.getDefault());
+    }
+
+    /**
+     * Launches an XSLT conversion from a file on the given executor. The
+     * stylesheet is compiled by the calling thread, so the xsl source can be
+     * closed once this method returns.
+     *
+     * @param xslSource the source of the xsl
+     * @param inputFile the input file
+     * @param params    the parameter map
+     * @param executor  the executor that runs the conversion
+     * @return a future of the converted string, or completed exceptionally
+     *         with a {@link ConversionException}
+     */
+    public CompletableFuture<String> convertAndReturnAsync(StreamSource xslSource, final File inputFile, final Map<String, Object> params, Executor executor) {
+        final CompiledStylesheet stylesheet;
+        try {
+            stylesheet = getContext().compile(xslSource);
+        } catch (Exception e) {
+            return failedFuture(asConversionException(e));
+        }
+        return supplyAsync(() -> {
+            try (Permit permit = admit(inputFile); InputStream input = CompressedStreams.openInput(inputFile)) {
+                StringWriter output = new StringWriter();
+                convert(stylesheet, new InputSource(input), output, params);
+                return output.toString();
+            }
+        }, executor);
+    }
+
+    /**
+     * Launches the XSLT conversion of many files with the same stylesheet.
+     * The stylesheet is compiled once and the files are converted in
+     * parallel using as many threads as available processors.
+     *
+     * @param xslFile the xsl file
+     * @param files   the input files associated to their output file
+     * @param params  the parameter map
+     * @return the outcome of each file conversion, in the iteration order of
+     *         the given map
+     * @throws ConversionException if the stylesheet could not be compiled
+     */
+    public List<ConversionResult> convertAll(File xslFile, Map<File, File> files, Map<String, Object> params) throws ConversionException {
+        ExecutorService executor = newBatchExecutor(files.size());
+        try {
+            return convertAll(xslFile, files, params, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Launches the XSLT conversion of many files with the same stylesheet.
+     * The stylesheet is compiled once and the files are converted by the
+     * given executor. The failure of a file does not stop the conversion of
+     * the others.
+     *
+     * @param xslFile  the xsl file
+     * @param files    the input files associated to their output file
+     * @param params   the parameter map
+     * @param executor the executor that runs the conversions
+     * @return the outcome of each file conversion, in the iteration order of
+     *         the given map
+     * @throws ConversionException if the stylesheet could not be compiled
+     */
+    public List<ConversionResult> convertAll(File xslFile, Map<File, File> files, Map<String, Object> params, Executor executor) throws ConversionException {
+        CompiledStylesheet stylesheet;
+        try {
+            stylesheet = getContext().compile(xslFile);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+        return convertAll(stylesheet, files, params, executor);
+    }
+
+    /**
+     * Launches the XSLT conversion of many files with the same stylesheet.
+     * The stylesheet is compiled once and the files are converted in
+     * parallel using as many threads as available processors.
+     *
+     * @param xslSource the source of the xsl
+     * @param files     the input files associated to their output file
+     * @param params    the parameter map
+     * @return the outcome of each file conversion, in the iteration order of
+     *         the given map
+     * @throws ConversionException if the stylesheet could not be compiled
+     */
+    public List<ConversionResult> convertAll(StreamSource xslSource, Map<File, File> files, Map<String, Object> params) throws ConversionException {
+        ExecutorService executor = newBatchExecutor(files.size());
+        try {
+            return convertAll(xslSource, files, params, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Launches the XSLT conversion of many files with the same stylesheet.
+     * The stylesheet is compiled once and the files are converted by the
+     * given executor. The failure of a file does not stop the conversion of
+     * the others.
+     *
+     * @param xslSource the source of the xsl
+     * @param files     the input files associated to their output file
+     * @param params    the parameter map
+     * @param executor  the executor that runs the conversions
+     * @return the outcome of each file conversion, in the iteration order of
+     *         the given map
+     * @throws ConversionException if the stylesheet could not be compiled
+     */
+    public List<ConversionResult> convertAll(StreamSource xslSource, Map<File, File> files, Map<String, Object> params, Executor executor) throws ConversionException {
+        CompiledStylesheet stylesheet;
+        try {
+            stylesheet = getContext().compile(xslSource);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+        return convertAll(stylesheet, files, params, executor);
+    }
+
+    private List<ConversionResult> convertAll(final CompiledStylesheet stylesheet, Map<File, File> files, final Map<String, Object> params, Executor executor) {
+        List<CompletableFuture<ConversionResult>> futures = new ArrayList<>(files.size());
+        for (Map.Entry<File, File> file : files.entrySet()) {
+            final File inputFile = file.getKey();
+            final File outFile = file.getValue();
+            CompletableFuture<ConversionResult> future;
+            try {
+                future = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        convert(stylesheet, inputFile, outFile, params);
+                        return new ConversionResult(inputFile, outFile, null);
+                    } catch (Exception e) {
+                        return new ConversionResult(inputFile, outFile, asConversionException(e));
+                    }
+                }, executor);
+            } catch (RejectedExecutionException e) {
+                future = CompletableFuture.completedFuture(new ConversionResult(inputFile, outFile, asConversionException(e)));
             }
-        });
+            futures.add(future);
+        }
+
+        List<ConversionResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<ConversionResult> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * Launches the XSLT conversion of a large file by splitting it in chunks
+     * that are converted in parallel using as many threads as available
+     * processors.
+     *
+     * @param xslFile      the xsl file
+     * @param inputFile    the input file
+     * @param outFile      the output file
+     * @param splitElement the repeated element where the input is cut, as
+     *                     local name or <code>{namespace}localName</code>
+     * @param chunkSize    the number of repeated elements per chunk
+     * @param params       the parameter map
+     * @throws ConversionException the convert exception
+     * @see #convertInChunks(StreamSource, File, File, String, int, Map, Executor)
+     */
+    public void convertInChunks(File xslFile, File inputFile, File outFile, String splitElement, int chunkSize, Map<String, Object> params) throws ConversionException {
+        ExecutorService executor = newBatchExecutor(Integer.MAX_VALUE);
+        try {
+            convertInChunks(xslFile, inputFile, outFile, splitElement, chunkSize, params, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
 
-        // create the conversion processor with a XSLT compiler
-        Processor processor = new Processor(false);
-        processor.setConfigurationProperty(Feature.ENTITY_RESOLVER_CLASS, DTKitEntityresolver.class.getName());
-        processor.setConfigurationProperty(Feature.DTD_VALIDATION, false);
-        processor.setConfigurationProperty(Feature.DTD_VALIDATION_RECOVERABLE, true);
-        // remove DTD validation warning messages on system error
-        processor.getUnderlyingConfiguration().setValidation(false);
-        XsltCompiler compiler = processor.newXsltCompiler();
+    /**
+     * Launches the XSLT conversion of a large file by splitting it in chunks
+     * that are converted in parallel by the given executor.
+     *
+     * @param xslFile      the xsl file
+     * @param inputFile    the input file
+     * @param outFile      the output file
+     * @param splitElement the repeated element where the input is cut, as
+     *                     local name or <code>{namespace}localName</code>
+     * @param chunkSize    the number of repeated elements per chunk
+     * @param params       the parameter map
+     * @param executor     the executor that runs the chunk conversions
+     * @throws ConversionException the convert exception
+     * @see #convertInChunks(StreamSource, File, File, String, int, Map, Executor)
+     */
+    public void convertInChunks(File xslFile, File inputFile, File outFile, String splitElement, int chunkSize, Map<String, Object> params, Executor executor) throws ConversionException {
+        try {
+            convertInChunks(getContext().compile(xslFile), inputFile, outFile, splitElement, chunkSize, params, executor);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+    }
 
-        // compile and load the XSL file
-        XsltExecutable stylesheet = compiler.compile(xslSource);
-        Xslt30Transformer transformer = stylesheet.load30();
+    /**
+     * Launches the XSLT conversion of a large file by splitting it in chunks
+     * that are converted in parallel using as many threads as available
+     * processors.
+     *
+     * @param xslSource    the source of the xsl
+     * @param inputFile    the input file
+     * @param outFile      the output file
+     * @param splitElement the repeated element where the input is cut, as
+     *                     local name or <code>{namespace}localName</code>
+     * @param chunkSize    the number of repeated elements per chunk
+     * @param params       the parameter map
+     * @throws ConversionException the convert exception
+     * @see #convertInChunks(StreamSource, File, File, String, int, Map, Executor)
+     */
+    public void convertInChunks(StreamSource xslSource, File inputFile, File outFile, String splitElement, int chunkSize, Map<String, Object> params) throws ConversionException {
+        ExecutorService executor = newBatchExecutor(Integer.MAX_VALUE);
+        try {
+            convertInChunks(xslSource, inputFile, outFile, splitElement, chunkSize, params, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
 
-        // create the output with its options
-        Serializer out = processor.newSerializer(output);
-        out.setOutputProperty(Serializer.Property.INDENT, "yes");
+    /**
+     * Launches the XSLT conversion of a large file by splitting it in chunks
+     * that are converted in parallel by the given executor.
+     * <p>
+     * The input is read once in streaming and cut before an occurrence of
+     * the repeated element every {@code chunkSize} occurrences. Each chunk
+     * keeps the elements enclosing the repeated elements, so the stylesheet
+     * sees them in the same context. The outputs of the chunks are merged
+     * under the root element of the first one. The memory used is bounded by
+     * the chunk size instead of the document size.
+     * <p>
+     * This mode is suitable only for stylesheets that produce an XML document
+     * where the result of a repeated element does not depend on its siblings,
+     * like most test report formats cut at the <code>testsuite</code> or
+     * <code>testcase</code> element.
+     *
+     * @param xslSource    the source of the xsl
+     * @param inputFile    the input file
+     * @param outFile      the output file
+     * @param splitElement the repeated element where the input is cut, as
+     *                     local name or <code>{namespace}localName</code>
+     * @param chunkSize    the number of repeated elements per chunk
+     * @param params       the parameter map
+     * @param executor     the executor that runs the chunk conversions
+     * @throws ConversionException the convert exception
+     */
+    public void convertInChunks(StreamSource xslSource, File inputFile, File outFile, String splitElement, int chunkSize, Map<String, Object> params, Executor executor) throws ConversionException {
+        try {
+            convertInChunks(getContext().compile(xslSource), inputFile, outFile, splitElement, chunkSize, params, executor);
+        } catch (Exception e) {
+            throw asConversionException(e);
+        }
+    }
 
+    private void convertInChunks(CompiledStylesheet stylesheet, File inputFile, File outFile, String splitElement, int chunkSize, Map<String, Object> params, Executor executor) throws Exception {
+        XMLChunker chunker = new XMLChunker(QName.valueOf(splitElement), chunkSize);
+        new ChunkedConversion(stylesheet, options, chunker, executor).convert(inputFile, outFile);
+    }
+
+    private static Permit admit(File inputFile) throws IOException {
+        return admit(inputFile.toPath());
+    }
+
+    private static Permit admit(Path inputFile) throws IOException {
+        MemoryAdmissionController controller = ConversionServiceFactory.getAdmissionController();
+        if (controller == null) {
+            return Permit.NONE;
+        }
+        try {
+            return controller.acquire(inputFile);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConversionException("Interrupted while waiting for memory to convert " + inputFile, e);
+        } catch (NoSuchFileException e) {
+            // reported when the file is opened
+            return Permit.NONE;
+        }
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(final Callable<T> task, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.call();
+                } catch (Exception e) {
+                    throw new CompletionException(asConversionException(e));
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return failedFuture(asConversionException(e));
+        }
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(ConversionException e) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    private static ExecutorService newBatchExecutor(int tasks) {
+        int threads = Math.max(1, Math.min(tasks, Runtime.getRuntime().availableProcessors()));
+        return Executors.newFixedThreadPool(threads);
+    }
+
+    private void convert(final CompiledStylesheet stylesheet, final File inputFile, final File outFile, final Map<String, Object> params) throws Exception {
+        ResultCache cache = ConversionServiceFactory.getResultCache();
+        if (cache == null || !inputFile.isFile()) {
+            transform(stylesheet, inputFile, outFile, params);
+        } else {
+            String key = resultKey(stylesheet, inputFile.toPath(), outFile.toPath(), params);
+            cache.get(key, outFile.toPath(), () -> transform(stylesheet, inputFile, outFile, params));
+        }
+    }
+
+    private void convert(final CompiledStylesheet stylesheet, final Path inputFile, final Path outFile, final Map<String, Object> params) throws Exception {
+        ResultCache cache = ConversionServiceFactory.getResultCache();
+        if (cache == null || !Files.isRegularFile(inputFile)) {
+            transform(stylesheet, inputFile, outFile, params);
+        } else {
+            String key = resultKey(stylesheet, inputFile, outFile, params);
+            cache.get(key, outFile, () -> transform(stylesheet, inputFile, outFile, params));
+        }
+    }
+
+    private void transform(CompiledStylesheet stylesheet, File inputFile, File outFile, Map<String, Object> params) throws Exception {
+        try (Permit permit = admit(inputFile); InputStream input = CompressedStreams.openInput(inputFile); OutputStream os = CompressedStreams.openOutput(outFile)) {
+            convert(stylesheet, new InputSource(input), os, params);
+        }
+    }
+
+    private void transform(CompiledStylesheet stylesheet, Path inputFile, Path outFile, Map<String, Object> params) throws Exception {
+        try (Permit permit = admit(inputFile); InputStream input = CompressedStreams.openInput(inputFile); OutputStream os = CompressedStreams.openOutput(outFile)) {
+            convert(stylesheet, newInputSource(input, inputFile), os, params);
+        }
+    }
+
+    /**
+     * Computes the digest of everything a file to file conversion depends
+     * on: the input bytes, the stylesheet and its modules, the parameters,
+     * the options and the compression of the output.
+     */
+    private String resultKey(CompiledStylesheet stylesheet, Path inputFile, Path outFile, Map<String, Object> params) throws IOException {
+        StringBuilder identity = new StringBuilder(RESULT_KEY_VERSION);
+        identity.append('\n').append(stylesheet.getIdentity());
+        identity.append('\n').append(options);
+        identity.append('\n').append(String.valueOf(outFile.getFileName()).endsWith(CompressedStreams.GZIP_EXTENSION));
+        if (params != null) {
+            for (Map.Entry<String, Object> param : new TreeMap<>(params).entrySet()) {
+                identity.append('\n').append(param.getKey()).append('=').append(param.getValue());
+            }
+        }
+        MessageDigest digest = Digests.newDigest();
+        digest.update(identity.toString().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        Digests.update(digest, inputFile);
+        return Digests.toHex(digest.digest());
+    }
+
+    private void convert(CompiledStylesheet stylesheet, InputSource inputFile, OutputStream output, Map<String, Object> params) throws Exception {
+        try (TransformerContext transformer = stylesheet.acquire(options)) {
+            transformer.transform(asSource(inputFile), output);
+        }
+    }
+
+    private void convert(CompiledStylesheet stylesheet, InputSource inputFile, Writer output, Map<String, Object> params) throws Exception {
+        try (TransformerContext transformer = stylesheet.acquire(options)) {
+            transformer.transform(asSource(inputFile), output);
+        }
+    }
+
+    private void convert(CompiledStylesheet stylesheet, InputSource inputFile, Destination destination, Map<String, Object> params) throws Exception {
+        try (TransformerContext transformer = stylesheet.acquire(options)) {
+            transformer.transform(asSource(inputFile), destination);
+        }
+    }
+
+    private static Source asSource(InputSource inputFile) throws IOException {
         // unwrap input stream to maintain APIs back compatible
-        Source source = new StreamSource(inputFile.getByteStream());
-        // run the conversion
-        transformer.transform(source, out);
+        if (inputFile.getByteStream() != null) {
+            return new StreamSource(CompressedStreams.decompress(inputFile.getByteStream()), inputFile.getSystemId());
+        } else if (inputFile.getCharacterStream() != null) {
+            return new StreamSource(inputFile.getCharacterStream(), inputFile.getSystemId());
+        } else {
+            return new StreamSource(inputFile.getSystemId());
+        }
+    }
+
+    private static InputSource newInputSource(InputStream input, Path inputFile) {
+        InputSource source = new InputSource(input);
+        source.setSystemId(inputFile.toUri().toString());
+        return source;
+    }
+
+    private static SAXParserFactory newParserFactory() {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory;
+    }
+
+    private static Document newDocument() throws ParserConfigurationException {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().newDocument();
+    }
+
+    ConversionContext getContext() {
+        if (context == null) {
+            // also the case after deserialization
+            context = ConversionServiceFactory.getContext();
+        }
+        return context;
     }
 
     private ConversionException asConversionException(Exception e) {
-        if (e instanceof FileNotFoundException) {
+        if (e instanceof ConversionException) {
+            return (ConversionException) e;
+        } else if (e instanceof FileNotFoundException) {
             return new ConversionException(e);
         } else if (e instanceof IOException) {
             return new ConversionException("Conversion Error", e);
         } else if (e instanceof SaxonApiException) {
-            throw new ConversionException("Error to convert the input XML document", e);
+            return new ConversionException("Error to convert the input XML document", e);
         } else if (e instanceof SAXException || e instanceof ParserConfigurationException) {
             // TODO verify that this kind of message agree with the exception reason
-            throw new ConversionException("Error to convert - A file not found", e);
+            return new ConversionException("Error to convert - A file not found", e);
         } else {
             return new ConversionException(e);
         }
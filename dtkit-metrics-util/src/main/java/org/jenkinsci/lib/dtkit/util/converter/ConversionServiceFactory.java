@@ -23,10 +23,101 @@
  */
 package org.jenkinsci.lib.dtkit.util.converter;
 
+import org.jenkinsci.lib.dtkit.util.cache.ResultCache;
 
+/**
+ * Creates conversion services that share the same Saxon processor and the
+ * same compiled stylesheets.
+ */
 public class ConversionServiceFactory {
 
+    private static volatile ConversionContext context;
+
+    private static volatile MemoryAdmissionController admissionController;
+
+    private static volatile ResultCache resultCache;
+
     public static ConversionService getInstance() {
-        return new ConversionService();
+        return getInstance(ConversionOptions.defaults());
+    }
+
+    /**
+     * Returns a service that applies the given options to all its
+     * conversions, for example {@link ConversionOptions#lean()} for large
+     * reports.
+     *
+     * @param options the conversion options
+     * @return the conversion service
+     */
+    public static ConversionService getInstance(ConversionOptions options) {
+        return new ConversionService(getContext(), options);
+    }
+
+    /**
+     * Installs the controller that limits the conversions running at the
+     * same time according to the memory they need. By default there is
+     * none and conversions are not limited.
+     *
+     * @param controller the controller, or {@code null} to remove it
+     */
+    public static void setAdmissionController(MemoryAdmissionController controller) {
+        admissionController = controller;
+    }
+
+    /**
+     * @return the installed admission controller, or {@code null}
+     */
+    public static MemoryAdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    /**
+     * Installs the cache of conversion results. File to file conversions
+     * of an input already converted with the same stylesheet, parameters
+     * and options copy the cached output instead of running the stylesheet.
+     * By default there is none.
+     *
+     * @param cache the cache, or {@code null} to remove it
+     */
+    public static void setResultCache(ResultCache cache) {
+        resultCache = cache;
+    }
+
+    /**
+     * @return the installed result cache, or {@code null}
+     */
+    public static ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    static ConversionContext getContext() {
+        ConversionContext result = context;
+        if (result == null) {
+            synchronized (ConversionServiceFactory.class) {
+                result = context;
+                if (result == null) {
+                    result = new ConversionContext();
+                    context = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Releases the shared processor and all compiled stylesheets.
+     * <p>
+     * Services obtained before this call keep working but do no longer
+     * share the processor with services obtained after.
+     */
+    public static void reset() {
+        ConversionContext old;
+        synchronized (ConversionServiceFactory.class) {
+            old = context;
+            context = null;
+        }
+        if (old != null) {
+            old.close();
+        }
     }
 }
@@ -0,0 +1,296 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.converter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jenkinsci.lib.dtkit.util.io.CompressedStreams;
+
+/**
+ * Limits the number of conversions that run at the same time so that the
+ * input trees they build fit in memory.
+ * <p>
+ * The heap cost of a conversion is estimated from the size of its input
+ * file. Conversions are admitted in arrival order while the sum of the
+ * estimated costs of the running ones stays within the budget, and while
+ * the heap used after the last garbage collection stays under
+ * {@link #HEAP_THRESHOLD} of the maximum of each heap memory pool. The
+ * pools are only read, their usage thresholds that are shared by the whole
+ * JVM are left unchanged. A conversion is always admitted when
+ * nothing else is running, even if its estimated cost exceeds the budget.
+ * <p>
+ * The controller is installed with
+ * {@link ConversionServiceFactory#setAdmissionController(MemoryAdmissionController)}.
+ */
+public class MemoryAdmissionController {
+
+    /**
+     * Estimated heap bytes used per byte of XML input, for the tree and
+     * the transformation.
+     */
+    public static final double DEFAULT_COST_FACTOR = 6;
+
+    /**
+     * Assumed compression ratio of gzip compressed inputs.
+     */
+    public static final double COMPRESSION_RATIO = 8;
+
+    /**
+     * Fraction of the heap pool maximum above which no conversion is
+     * admitted.
+     */
+    public static final double HEAP_THRESHOLD = 0.85;
+
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    private static final long RECHECK_MILLIS = 100;
+
+    /**
+     * An admitted conversion. Closing it releases its estimated cost.
+     */
+    public interface Permit extends AutoCloseable {
+
+        /**
+         * A permit that reserves nothing, used when no controller is
+         * installed.
+         */
+        Permit NONE = () -> {
+        };
+
+        @Override
+        void close();
+    }
+
+    private final long budget;
+    private final double costFactor;
+    private final List<MemoryPoolMXBean> heapPools;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Deque<Object> waiting = new ArrayDeque<>();
+    private long reserved;
+    private int running;
+
+    /**
+     * Creates a controller.
+     *
+     * @param budget     the maximum sum of the estimated costs of the running
+     *                   conversions, in bytes
+     * @param costFactor the estimated heap bytes used per byte of input
+     */
+    public MemoryAdmissionController(long budget, double costFactor) {
+        if (budget <= 0) {
+            throw new IllegalArgumentException("budget must be greater than zero");
+        }
+        if (costFactor <= 0) {
+            throw new IllegalArgumentException("costFactor must be greater than zero");
+        }
+        this.budget = budget;
+        this.costFactor = costFactor;
+        this.heapPools = watchHeapPools();
+    }
+
+    /**
+     * Creates a controller whose budget is a fraction of the memory
+     * available to the JVM, that is the maximum heap size bounded by the
+     * memory limit of the container (cgroup v1 or v2) if any.
+     *
+     * @param fraction the fraction of the available memory, between 0 and 1
+     * @return the controller
+     */
+    public static MemoryAdmissionController ofAvailableMemory(double fraction) {
+        if (fraction <= 0 || fraction > 1) {
+            throw new IllegalArgumentException("fraction must be in ]0, 1]");
+        }
+        long available = Math.min(Runtime.getRuntime().maxMemory(), getContainerMemoryLimit());
+        return new MemoryAdmissionController((long) (available * fraction), DEFAULT_COST_FACTOR);
+    }
+
+    /**
+     * Returns the memory limit of the cgroup of this process.
+     *
+     * @return the limit in bytes, or {@link Long#MAX_VALUE} if there is none
+     */
+    public static long getContainerMemoryLimit() {
+        // cgroup v2, then v1
+        long limit = readLimit(Paths.get("/sys/fs/cgroup/memory.max"));
+        if (limit == UNLIMITED) {
+            limit = readLimit(Paths.get("/sys/fs/cgroup/memory/memory.limit_in_bytes"));
+        }
+        return limit;
+    }
+
+    /**
+     * Estimates the heap cost of the conversion of a file.
+     *
+     * @param inputFile the input file
+     * @return the estimated cost in bytes
+     * @throws IOException if the file could not be read
+     */
+    public long estimate(Path inputFile) throws IOException {
+        double size = Files.size(inputFile);
+        if (CompressedStreams.isCompressed(inputFile)) {
+            size *= COMPRESSION_RATIO;
+        }
+        return (long) Math.min(size * costFactor, Long.MAX_VALUE);
+    }
+
+    /**
+     * Waits until the conversion of the given file can run.
+     *
+     * @param inputFile the input file
+     * @return the permit to close when the conversion is done
+     * @throws IOException if the file could not be read
+     * @throws InterruptedException if the thread is interrupted while
+     *                              waiting
+     */
+    public Permit acquire(Path inputFile) throws IOException, InterruptedException {
+        return acquire(estimate(inputFile));
+    }
+
+    /**
+     * Waits until a conversion of the given estimated cost can run.
+     *
+     * @param cost the estimated cost in bytes
+     * @return the permit to close when the conversion is done
+     * @throws InterruptedException if the thread is interrupted while
+     *                              waiting
+     */
+    public Permit acquire(long cost) throws InterruptedException {
+        // a job bigger than the budget runs alone
+        final long reservation = Math.max(0, Math.min(cost, budget));
+        Object ticket = new Object();
+        lock.lockInterruptibly();
+        try {
+            waiting.addLast(ticket);
+            try {
+                while (running > 0 && (waiting.peekFirst() != ticket || reserved + reservation > budget || isHeapThresholdExceeded())) {
+                    if (isHeapThresholdExceeded()) {
+                        // the heap usage is not signalled, check it again later
+                        changed.await(RECHECK_MILLIS, TimeUnit.MILLISECONDS);
+                    } else {
+                        changed.await();
+                    }
+                }
+            } finally {
+                waiting.remove(ticket);
+                changed.signalAll();
+            }
+            reserved += reservation;
+            running++;
+        } finally {
+            lock.unlock();
+        }
+        return new Permit() {
+            private boolean closed;
+
+            @Override
+            public void close() {
+                lock.lock();
+                try {
+                    if (!closed) {
+                        closed = true;
+                        reserved -= reservation;
+                        running--;
+                        changed.signalAll();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        };
+    }
+
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Returns the sum of the estimated costs of the running conversions.
+     *
+     * @return the reserved bytes
+     */
+    public long getReserved() {
+        lock.lock();
+        try {
+            return reserved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isHeapThresholdExceeded() {
+        for (MemoryPoolMXBean pool : heapPools) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage != null && usage.getMax() > 0 && usage.getUsed() > usage.getMax() * HEAP_THRESHOLD) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<MemoryPoolMXBean> watchHeapPools() {
+        List<MemoryPoolMXBean> pools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            // the usage after the last collection, not the current one that
+            // includes the garbage
+            if (pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+
+    private static long readLimit(Path file) {
+        try {
+            if (!Files.isReadable(file)) {
+                return UNLIMITED;
+            }
+            String value = new String(Files.readAllBytes(file), StandardCharsets.US_ASCII).trim();
+            if (value.isEmpty() || "max".equals(value)) {
+                return UNLIMITED;
+            }
+            long limit = Long.parseLong(value);
+            // cgroup v1 reports a huge page aligned value when there is no limit
+            return limit <= 0 || limit >= Long.MAX_VALUE / 2 ? UNLIMITED : limit;
+        } catch (IOException | NumberFormatException e) {
+            return UNLIMITED;
+        }
+    }
+}
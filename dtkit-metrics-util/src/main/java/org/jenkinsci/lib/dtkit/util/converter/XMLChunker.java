@@ -0,0 +1,199 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+
+/**
+ * Splits an XML document in smaller well formed documents with a single
+ * streaming pass.
+ * <p>
+ * The document is cut before a repeated element once the current chunk
+ * contains the requested number of them. Each chunk re-opens the elements
+ * that enclose the cut point, with their attributes and namespace
+ * declarations, so a stylesheet sees every repeated element in the same
+ * context as in the original document. Content that is not part of a
+ * repeated element stays in the chunk where it appears.
+ */
+class XMLChunker {
+
+    /**
+     * Receives the chunks in document order.
+     */
+    interface ChunkHandler {
+        void onChunk(byte[] chunk) throws Exception;
+    }
+
+    private final QName splitElement;
+    private final int chunkSize;
+    private final XMLInputFactory inputFactory;
+    private final XMLOutputFactory outputFactory;
+    private final XMLEventFactory eventFactory;
+
+    /**
+     * Creates a new chunker.
+     *
+     * @param splitElement the repeated element, when the namespace URI is
+     *        empty only the local name is compared
+     * @param chunkSize the number of repeated elements per chunk
+     */
+    XMLChunker(QName splitElement, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The chunk size must be positive: " + chunkSize);
+        }
+        this.splitElement = splitElement;
+        this.chunkSize = chunkSize;
+
+        inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        // skip external DTD like DTKitEntityresolver does for conversions
+        inputFactory.setXMLResolver((publicId, systemId, baseURI, namespace) -> new ByteArrayInputStream(new byte[0]));
+        outputFactory = XMLOutputFactory.newInstance();
+        eventFactory = XMLEventFactory.newInstance();
+    }
+
+    /**
+     * Reads the document and sends each chunk to the handler as soon as it
+     * is complete.
+     *
+     * @param input the document to split
+     * @param systemId the system identifier of the document
+     * @param handler the chunk handler
+     * @throws Exception in case of parse error or if the handler fails
+     */
+    void split(InputStream input, String systemId, ChunkHandler handler) throws Exception {
+        XMLEventReader reader = inputFactory.createXMLEventReader(systemId, input);
+        try {
+            Deque<StartElement> ancestors = new ArrayDeque<>();
+            Chunk chunk = null;
+            int splitDepth = 0;
+            int count = 0;
+
+            while (reader.hasNext()) {
+                XMLEvent event = reader.nextEvent();
+                switch (event.getEventType()) {
+                case XMLStreamConstants.START_DOCUMENT:
+                case XMLStreamConstants.END_DOCUMENT:
+                case XMLStreamConstants.DTD:
+                    break;
+                case XMLStreamConstants.START_ELEMENT:
+                    StartElement start = event.asStartElement();
+                    if (chunk == null) {
+                        chunk = new Chunk(ancestors);
+                    }
+                    if (splitDepth > 0) {
+                        splitDepth++;
+                    } else if (isSplitElement(start)) {
+                        if (count == chunkSize) {
+                            handler.onChunk(chunk.close(ancestors));
+                            chunk = new Chunk(ancestors);
+                            count = 0;
+                        }
+                        splitDepth = 1;
+                    } else {
+                        ancestors.push(start);
+                    }
+                    chunk.add(event);
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    chunk.add(event);
+                    if (splitDepth > 0) {
+                        splitDepth--;
+                        if (splitDepth == 0) {
+                            count++;
+                        }
+                    } else {
+                        ancestors.pop();
+                    }
+                    break;
+                default:
+                    // skip prolog and epilog
+                    if (splitDepth > 0 || !ancestors.isEmpty()) {
+                        chunk.add(event);
+                    }
+                }
+            }
+
+            if (chunk != null) {
+                handler.onChunk(chunk.close(ancestors));
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private boolean isSplitElement(StartElement element) {
+        QName name = element.getName();
+        if (!splitElement.getLocalPart().equals(name.getLocalPart())) {
+            return false;
+        }
+        return splitElement.getNamespaceURI().isEmpty() || splitElement.getNamespaceURI().equals(name.getNamespaceURI());
+    }
+
+    private class Chunk {
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        private final XMLEventWriter writer;
+
+        Chunk(Deque<StartElement> ancestors) throws XMLStreamException {
+            writer = outputFactory.createXMLEventWriter(content, "UTF-8");
+            writer.add(eventFactory.createStartDocument("UTF-8", "1.0"));
+            // re-open enclosing elements from the outermost
+            Iterator<StartElement> it = ancestors.descendingIterator();
+            while (it.hasNext()) {
+                writer.add(it.next());
+            }
+        }
+
+        void add(XMLEvent event) throws XMLStreamException {
+            writer.add(event);
+        }
+
+        byte[] close(Deque<StartElement> ancestors) throws XMLStreamException {
+            // close still opened elements from the innermost
+            for (StartElement ancestor : ancestors) {
+                writer.add(eventFactory.createEndElement(ancestor.getName(), ancestor.getNamespaces()));
+            }
+            writer.add(eventFactory.createEndDocument());
+            writer.close();
+            return content.toByteArray();
+        }
+    }
+}
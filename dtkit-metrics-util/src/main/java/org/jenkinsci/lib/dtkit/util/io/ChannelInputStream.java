@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An input stream that reads a file through a {@link FileChannel} into a
+ * buffer taken from a {@link BufferPool}. The buffer goes back to the pool
+ * when the stream is closed.
+ */
+final class ChannelInputStream extends InputStream {
+
+    private final FileChannel channel;
+    private final BufferPool pool;
+    private byte[] array;
+    private ByteBuffer buffer;
+
+    private ChannelInputStream(FileChannel channel, BufferPool pool) {
+        this.channel = channel;
+        this.pool = pool;
+        this.array = pool.acquire();
+        this.buffer = ByteBuffer.wrap(array);
+        this.buffer.limit(0);
+    }
+
+    static ChannelInputStream open(Path path, BufferPool pool) throws IOException {
+        return new ChannelInputStream(FileChannel.open(path, StandardOpenOption.READ), pool);
+    }
+
+    /**
+     * Returns a byte ahead in the stream without consuming it.
+     *
+     * @param offset the offset from the current position, lower than the
+     *               buffer size
+     * @return the byte or -1 if the stream ends before
+     * @throws IOException if the file could not be read
+     */
+    int peek(int offset) throws IOException {
+        ensureOpen();
+        while (buffer.remaining() <= offset) {
+            buffer.compact();
+            int read = channel.read(buffer);
+            buffer.flip();
+            if (read < 0) {
+                return -1;
+            }
+        }
+        return buffer.get(buffer.position() + offset) & 0xff;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return buffer.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(len, buffer.remaining());
+        buffer.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        ensureOpen();
+        if (n <= buffer.remaining()) {
+            buffer.position(buffer.position() + (int) n);
+            return n;
+        }
+        long skipped = buffer.remaining();
+        long target = Math.min(channel.position() + n - skipped, channel.size());
+        skipped += target - channel.position();
+        channel.position(target);
+        buffer.limit(0);
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        long remaining = buffer.remaining() + channel.size() - channel.position();
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, remaining));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (array != null) {
+            pool.release(array);
+            array = null;
+            buffer = null;
+        }
+        channel.close();
+    }
+
+    private boolean fill() throws IOException {
+        ensureOpen();
+        while (!buffer.hasRemaining()) {
+            buffer.clear();
+            int read = channel.read(buffer);
+            buffer.flip();
+            if (read < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (buffer == null) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Opens report files that may be gzip compressed.
+ * <p>
+ * Compressed inputs are recognised by their magic bytes, whatever the file
+ * name is. Outputs are compressed when the file name ends with
+ * {@value #GZIP_EXTENSION}.
+ */
+public final class CompressedStreams {
+
+    /**
+     * Extension of the output files that are written compressed.
+     */
+    public static final String GZIP_EXTENSION = ".gz";
+
+    private static final int BUFFER_SIZE = BufferPool.DEFAULT_BUFFER_SIZE;
+
+    private CompressedStreams() {
+    }
+
+    /**
+     * Opens a file for reading, decompressing it if it is gzip compressed.
+     *
+     * @param file the file to read
+     * @return the stream of the uncompressed content
+     * @throws FileNotFoundException if the file does not exist
+     * @throws IOException if the file could not be opened
+     */
+    public static InputStream openInput(File file) throws IOException {
+        try {
+            return openInput(file.toPath());
+        } catch (NoSuchFileException e) {
+            throw (FileNotFoundException) new FileNotFoundException(file.getPath() + " (No such file or directory)").initCause(e);
+        }
+    }
+
+    /**
+     * Opens a file for reading, decompressing it if it is gzip compressed.
+     * The file is read through its channel into a buffer of the
+     * {@link BufferPool#getDefault() default pool}, released when the stream
+     * is closed.
+     *
+     * @param path the file to read
+     * @return the stream of the uncompressed content
+     * @throws IOException if the file could not be opened
+     */
+    public static InputStream openInput(Path path) throws IOException {
+        ChannelInputStream input = ChannelInputStream.open(path, BufferPool.getDefault());
+        try {
+            return decompress(input);
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Wraps a stream so that its content is decompressed if it is gzip
+     * compressed. The returned stream is buffered.
+     *
+     * @param input the stream to read
+     * @return the stream of the uncompressed content
+     * @throws IOException if the stream could not be read
+     */
+    public static InputStream decompress(InputStream input) throws IOException {
+        if (input instanceof GZIPInputStream) {
+            // already opened by this class
+            return input;
+        }
+        if (input instanceof ChannelInputStream) {
+            ChannelInputStream channelInput = (ChannelInputStream) input;
+            if (isGzip(channelInput.peek(0), channelInput.peek(1))) {
+                return new GZIPInputStream(input, BUFFER_SIZE);
+            }
+            return input;
+        }
+        InputStream buffered = input instanceof BufferedInputStream ? input : new BufferedInputStream(input, BUFFER_SIZE);
+        if (isGzip(buffered)) {
+            return new BufferedInputStream(new GZIPInputStream(buffered, BUFFER_SIZE), BUFFER_SIZE);
+        }
+        return buffered;
+    }
+
+    /**
+     * Tells if a file is gzip compressed.
+     *
+     * @param file the file to check
+     * @return true if the file starts with the gzip magic bytes
+     * @throws IOException if the file could not be read
+     */
+    public static boolean isCompressed(File file) throws IOException {
+        try (InputStream input = new BufferedInputStream(new FileInputStream(file), 2)) {
+            return isGzip(input);
+        }
+    }
+
+    /**
+     * Tells if a file is gzip compressed.
+     *
+     * @param path the file to check
+     * @return true if the file starts with the gzip magic bytes
+     * @throws IOException if the file could not be read
+     */
+    public static boolean isCompressed(Path path) throws IOException {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(path), 2)) {
+            return isGzip(input);
+        }
+    }
+
+    /**
+     * Opens a file for writing, compressing the content if the file name ends
+     * with {@value #GZIP_EXTENSION}.
+     *
+     * @param file the file to write
+     * @return the stream where write the uncompressed content
+     * @throws IOException if the file could not be created
+     */
+    public static OutputStream openOutput(File file) throws IOException {
+        OutputStream output = new FileOutputStream(file);
+        if (!file.getName().endsWith(GZIP_EXTENSION)) {
+            return output;
+        }
+        try {
+            return new GZIPOutputStream(new BufferedOutputStream(output, BUFFER_SIZE), BUFFER_SIZE);
+        } catch (IOException e) {
+            output.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a file for writing, compressing the content if the file name ends
+     * with {@value #GZIP_EXTENSION}.
+     *
+     * @param path the file to write
+     * @return the stream where write the uncompressed content
+     * @throws IOException if the file could not be created
+     */
+    public static OutputStream openOutput(Path path) throws IOException {
+        OutputStream output = Files.newOutputStream(path);
+        Path fileName = path.getFileName();
+        if (fileName == null || !fileName.toString().endsWith(GZIP_EXTENSION)) {
+            return output;
+        }
+        try {
+            return new GZIPOutputStream(new BufferedOutputStream(output, BUFFER_SIZE), BUFFER_SIZE);
+        } catch (IOException e) {
+            output.close();
+            throw e;
+        }
+    }
+
+    private static boolean isGzip(InputStream input) throws IOException {
+        input.mark(2);
+        int b1 = input.read();
+        int b2 = input.read();
+        input.reset();
+        return isGzip(b1, b2);
+    }
+
+    private static boolean isGzip(int b1, int b2) {
+        return b1 == (GZIPInputStream.GZIP_MAGIC & 0xff) && b2 == (GZIPInputStream.GZIP_MAGIC >> 8);
+    }
+}
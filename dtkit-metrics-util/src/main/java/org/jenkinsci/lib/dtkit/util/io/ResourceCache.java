@@ -0,0 +1,175 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.transform.stream.StreamSource;
+
+import org.jenkinsci.lib.dtkit.util.cache.Digests;
+
+/**
+ * Keeps in memory the content of the classpath resources used as
+ * stylesheets and schemas, so each one is looked up in its JAR and
+ * inflated only once.
+ * <p>
+ * Resources are cached per class, as {@link Class#getResourceAsStream(String)}
+ * resolves their name, and released with the class. The cached content is
+ * never modified, each call returns a new stream over it that does not
+ * need to be closed.
+ */
+public final class ResourceCache {
+
+    private static final class Resource {
+        private final byte[] content;
+        private final String systemId;
+        private volatile String digest;
+
+        private Resource(byte[] content, String systemId) {
+            this.content = content;
+            this.systemId = systemId;
+        }
+
+        private String getDigest() {
+            String result = digest;
+            if (result == null) {
+                // computed at most a few times concurrently, always the same value
+                result = Digests.sha256(content);
+                digest = result;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A stream over the content of a resource, that remembers the resource
+     * to give its digest.
+     */
+    private static final class ResourceStream extends ByteArrayInputStream {
+        private final Resource resource;
+
+        private ResourceStream(Resource resource) {
+            super(resource.content);
+            this.resource = resource;
+        }
+
+        private boolean isUnread() {
+            return pos == 0;
+        }
+    }
+
+    private static final ClassValue<ConcurrentMap<String, Resource>> RESOURCES = new ClassValue<ConcurrentMap<String, Resource>>() {
+        @Override
+        protected ConcurrentMap<String, Resource> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private ResourceCache() {
+    }
+
+    /**
+     * Returns a stream over the content of a resource.
+     *
+     * @param owner the class used to find the resource
+     * @param name  the resource name
+     * @return the stream, or {@code null} if the resource does not exist
+     * @throws IOException if the resource could not be read
+     */
+    public static InputStream getResourceAsStream(Class<?> owner, String name) throws IOException {
+        Resource resource = getResource(owner, name);
+        return resource == null ? null : new ByteArrayInputStream(resource.content);
+    }
+
+    /**
+     * Returns a source over the content of a resource. Its system id is the
+     * URL of the resource, so relative includes and imports are resolved.
+     *
+     * @param owner the class used to find the resource
+     * @param name  the resource name
+     * @return the source, without stream if the resource does not exist
+     * @throws IOException if the resource could not be read
+     */
+    public static StreamSource getSource(Class<?> owner, String name) throws IOException {
+        Resource resource = getResource(owner, name);
+        if (resource == null) {
+            return new StreamSource();
+        }
+        return new StreamSource(new ResourceStream(resource), resource.systemId);
+    }
+
+    /**
+     * Returns the SHA-256 digest of the content of a source returned by
+     * {@link #getSource(Class, String)}. The digest is computed once per
+     * resource, so the stylesheets and schemas loaded from the classpath
+     * are identified without reading their content again.
+     *
+     * @param source a source
+     * @return the digest in hexadecimal, or {@code null} if the source is
+     *         not the unread stream of a cached resource
+     */
+    public static String getDigest(StreamSource source) {
+        if (source.getInputStream() instanceof ResourceStream) {
+            ResourceStream stream = (ResourceStream) source.getInputStream();
+            if (stream.isUnread()) {
+                return stream.resource.getDigest();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Releases the resources cached for a class.
+     *
+     * @param owner the class used to find the resources
+     */
+    public static void clear(Class<?> owner) {
+        RESOURCES.remove(owner);
+    }
+
+    private static Resource getResource(final Class<?> owner, String name) throws IOException {
+        try {
+            return RESOURCES.get(owner).computeIfAbsent(name, n -> {
+                URL url = owner.getResource(n);
+                if (url == null) {
+                    // missing resources are not cached
+                    return null;
+                }
+                try (InputStream input = owner.getResourceAsStream(n)) {
+                    return input == null ? null : new Resource(Digests.toByteArray(input), url.toExternalForm());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
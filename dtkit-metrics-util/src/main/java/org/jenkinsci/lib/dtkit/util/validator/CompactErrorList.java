@@ -0,0 +1,401 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.validator;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A list of validation errors that stores each distinct message and system
+ * id once and the types and lines in primitive arrays.
+ * <p>
+ * A broken report often gives the same message many times with only the
+ * line changing: the list then keeps a few bytes per error instead of an
+ * object with its own strings. The {@link ValidationError} returned by
+ * {@link #get(int)} is created on each call and writes its changes back to
+ * the list; like a sub list, it can no longer be changed once the list was
+ * structurally modified. The {@link #group() grouped view} gives each
+ * distinct error once with its lines and count.
+ */
+public class CompactErrorList extends AbstractList<ValidationError> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int NO_STRING = -1;
+
+    private static final byte NO_TYPE = -1;
+
+    private static final ErrorType[] TYPES = ErrorType.values();
+
+    /**
+     * A distinct error with the lines where it was reported.
+     */
+    public static final class Group implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final ErrorType type;
+        private final String errorId;
+        private final String message;
+        private int[] lines = new int[4];
+        private int count;
+
+        private Group(ErrorType type, String errorId, String message) {
+            this.type = type;
+            this.errorId = errorId;
+            this.message = message;
+        }
+
+        private void add(int line) {
+            if (count == lines.length) {
+                lines = Arrays.copyOf(lines, count * 2);
+            }
+            lines[count++] = line;
+        }
+
+        public ErrorType getType() {
+            return type;
+        }
+
+        public String getErrorId() {
+            return errorId;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * @return the number of times the error was reported
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the lines of the error as ranges of consecutive lines, in
+         * increasing order. Each range is an array of its first and last
+         * line.
+         *
+         * @return the line ranges
+         */
+        public List<int[]> getLineRanges() {
+            int[] sorted = Arrays.copyOf(lines, count);
+            Arrays.sort(sorted);
+            List<int[]> ranges = new ArrayList<>();
+            for (int line : sorted) {
+                int[] last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+                if (last != null && line <= last[1] + 1) {
+                    last[1] = Math.max(last[1], line);
+                } else {
+                    ranges.add(new int[]{line, line});
+                }
+            }
+            return ranges;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(type).append(' ').append(errorId).append(':').append(message).append(" (").append(count).append(" times, lines ");
+            String separator = "";
+            for (int[] range : getLineRanges()) {
+                sb.append(separator).append(range[0]);
+                if (range[1] != range[0]) {
+                    sb.append('-').append(range[1]);
+                }
+                separator = ",";
+            }
+            return sb.append(')').toString();
+        }
+    }
+
+    /**
+     * An error of the list, its setters change the list.
+     */
+    private final class Entry extends ValidationError {
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+        private final int expectedModCount = modCount;
+
+        private Entry(int index) {
+            super(type(types[index]), lines[index], string(errorIds[index]), string(messages[index]));
+            this.index = index;
+        }
+
+        @Override
+        public void setLine(int line) {
+            checkModification();
+            super.setLine(line);
+            lines[index] = line;
+        }
+
+        @Override
+        public void setMessage(String message) {
+            checkModification();
+            super.setMessage(message);
+            messages[index] = intern(message);
+        }
+
+        @Override
+        public void setType(ErrorType type) {
+            checkModification();
+            super.setType(type);
+            types[index] = type(type);
+        }
+
+        private void checkModification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            Entry other = (Entry) obj;
+            return list() == other.list() && index == other.index && expectedModCount == other.expectedModCount;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(list()) * 31 + index;
+        }
+
+        private CompactErrorList list() {
+            return CompactErrorList.this;
+        }
+
+        private Object writeReplace() {
+            // do not send the whole list with the error
+            return copy(index);
+        }
+    }
+
+    private static final class GroupKey {
+        private final int type;
+        private final int errorId;
+        private final int message;
+
+        private GroupKey(int type, int errorId, int message) {
+            this.type = type;
+            this.errorId = errorId;
+            this.message = message;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof GroupKey)) {
+                return false;
+            }
+            GroupKey other = (GroupKey) obj;
+            return type == other.type && errorId == other.errorId && message == other.message;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * type + errorId) * 31 + message;
+        }
+    }
+
+    private String[] strings = new String[16];
+    private int stringCount;
+    private transient Map<String, Integer> stringIndex = new HashMap<>();
+
+    private byte[] types = new byte[16];
+    private int[] lines = new int[16];
+    private int[] errorIds = new int[16];
+    private int[] messages = new int[16];
+    private int size;
+
+    public CompactErrorList() {
+    }
+
+    public CompactErrorList(List<ValidationError> errors) {
+        addAll(errors);
+    }
+
+    @Override
+    public ValidationError get(int index) {
+        checkIndex(index);
+        return new Entry(index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void add(int index, ValidationError error) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == lines.length) {
+            int capacity = Math.max(16, size * 2);
+            types = Arrays.copyOf(types, capacity);
+            lines = Arrays.copyOf(lines, capacity);
+            errorIds = Arrays.copyOf(errorIds, capacity);
+            messages = Arrays.copyOf(messages, capacity);
+        }
+        move(index, index + 1, size - index);
+        store(index, error);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public ValidationError set(int index, ValidationError error) {
+        checkIndex(index);
+        ValidationError previous = copy(index);
+        store(index, error);
+        return previous;
+    }
+
+    @Override
+    public ValidationError remove(int index) {
+        checkIndex(index);
+        ValidationError previous = copy(index);
+        removeRange(index, index + 1);
+        return previous;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        move(toIndex, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        stringCount = 0;
+        stringIndex.clear();
+        Arrays.fill(strings, null);
+        modCount++;
+    }
+
+    /**
+     * Groups the errors that have the same type, system id and message.
+     *
+     * @return the distinct errors, in the order of their first occurrence
+     */
+    public List<Group> group() {
+        Map<GroupKey, Group> groups = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            GroupKey key = new GroupKey(types[i], errorIds[i], messages[i]);
+            Group group = groups.get(key);
+            if (group == null) {
+                group = new Group(type(types[i]), string(errorIds[i]), string(messages[i]));
+                groups.put(key, group);
+            }
+            group.add(lines[i]);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private ValidationError copy(int index) {
+        return new ValidationError(type(types[index]), lines[index], string(errorIds[index]), string(messages[index]));
+    }
+
+    private void store(int index, ValidationError error) {
+        types[index] = type(error.getType());
+        lines[index] = error.getLine();
+        errorIds[index] = intern(error.getErrorId());
+        messages[index] = intern(error.getMessage());
+    }
+
+    private int intern(String value) {
+        if (value == null) {
+            return NO_STRING;
+        }
+        Integer id = stringIndex.get(value);
+        if (id == null) {
+            if (stringCount == strings.length) {
+                strings = Arrays.copyOf(strings, Math.max(16, stringCount * 2));
+            }
+            id = stringCount;
+            strings[stringCount++] = value;
+            stringIndex.put(value, id);
+        }
+        return id;
+    }
+
+    private void move(int from, int to, int length) {
+        System.arraycopy(types, from, types, to, length);
+        System.arraycopy(lines, from, lines, to, length);
+        System.arraycopy(errorIds, from, errorIds, to, length);
+        System.arraycopy(messages, from, messages, to, length);
+    }
+
+    private static byte type(ErrorType type) {
+        return type == null ? NO_TYPE : (byte) type.ordinal();
+    }
+
+    private static ErrorType type(byte type) {
+        return type == NO_TYPE ? null : TYPES[type];
+    }
+
+    private String string(int id) {
+        return id == NO_STRING ? null : strings[id];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // do not send the unused capacity
+        strings = Arrays.copyOf(strings, stringCount);
+        types = Arrays.copyOf(types, size);
+        lines = Arrays.copyOf(lines, size);
+        errorIds = Arrays.copyOf(errorIds, size);
+        messages = Arrays.copyOf(messages, size);
+        out.defaultWriteObject();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        stringIndex = new HashMap<>();
+        for (int i = 0; i < stringCount; i++) {
+            stringIndex.put(strings[i], i);
+        }
+    }
+}
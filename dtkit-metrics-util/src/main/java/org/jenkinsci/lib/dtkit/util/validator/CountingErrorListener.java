@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.validator;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the errors it receives by type without keeping them. The errors
+ * without type are counted apart.
+ */
+public class CountingErrorListener implements ValidationErrorListener {
+
+    private final Map<ErrorType, LongAdder> counts = new EnumMap<>(ErrorType.class);
+
+    private final LongAdder untyped = new LongAdder();
+
+    public CountingErrorListener() {
+        for (ErrorType type : ErrorType.values()) {
+            counts.put(type, new LongAdder());
+        }
+    }
+
+    @Override
+    public void onError(ValidationError error) {
+        getCounter(error.getType()).increment();
+    }
+
+    /**
+     * @param type the error type, {@code null} for the errors without type
+     * @return the number of received errors of the given type
+     */
+    public long getCount(ErrorType type) {
+        return getCounter(type).sum();
+    }
+
+    /**
+     * @return the number of received errors of all types
+     */
+    public long getTotal() {
+        long total = untyped.sum();
+        for (LongAdder count : counts.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    public void reset() {
+        for (LongAdder count : counts.values()) {
+            count.reset();
+        }
+        untyped.reset();
+    }
+
+    private LongAdder getCounter(ErrorType type) {
+        return type == null ? untyped : counts.get(type);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.validator;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Logs the errors it receives on a background thread, so the validating
+ * threads never wait for the log handlers.
+ * <p>
+ * The errors are queued up to a given capacity, the ones received while
+ * the queue is full or after the listener is closed are counted and
+ * dropped. Fatal errors are logged as {@link Level#SEVERE}, errors and
+ * errors without type as {@link Level#WARNING} and warnings as
+ * {@link Level#INFO}. The log records keep the system id, the line and the
+ * message of the error as parameters.
+ */
+public class LoggingErrorListener implements ValidationErrorListener, AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 10000;
+
+    /**
+     * Tells the writer thread to stop.
+     */
+    private static final ValidationError END = new ValidationError();
+
+    private final Logger logger;
+    private final BlockingQueue<ValidationError> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public LoggingErrorListener(Logger logger) {
+        this(logger, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param logger   the logger of the errors
+     * @param capacity the number of errors waiting to be logged beyond
+     *                 which errors are dropped
+     */
+    public LoggingErrorListener(Logger logger, int capacity) {
+        this.logger = logger;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::write, "dtkit-validation-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void onError(ValidationError error) {
+        if (!logger.isLoggable(getLevel(error.getType()))) {
+            return;
+        }
+        if (closed || !queue.offer(error)) {
+            dropped.incrementAndGet();
+        } else if (closed && queue.remove(error)) {
+            // closed meanwhile, the writer may have stopped before the error
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of errors that were not logged because the queue
+     *         was full or the listener closed
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Logs the queued errors and stops the background thread.
+     *
+     * @throws InterruptedException if interrupted while waiting for the
+     *                              queued errors to be logged
+     */
+    @Override
+    public void close() throws InterruptedException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.put(END);
+        writer.join();
+    }
+
+    private void write() {
+        try {
+            ValidationError error;
+            while ((error = queue.take()) != END) {
+                LogRecord record = new LogRecord(getLevel(error.getType()), "{0}:{1}: {2}");
+                record.setLoggerName(logger.getName());
+                record.setParameters(new Object[]{error.getErrorId(), String.valueOf(error.getLine()), error.getMessage()});
+                logger.log(record);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Level getLevel(ErrorType type) {
+        if (type == null) {
+            return Level.WARNING;
+        }
+        switch (type) {
+        case FATAL_ERROR:
+            return Level.SEVERE;
+        case ERROR:
+            return Level.WARNING;
+        default:
+            return Level.INFO;
+        }
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.validator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
+
+import org.jenkinsci.lib.dtkit.util.cache.Dependency;
+import org.jenkinsci.lib.dtkit.util.cache.Digests;
+import org.jenkinsci.lib.dtkit.util.cache.LRUCache;
+import org.jenkinsci.lib.dtkit.util.io.ResourceCache;
+import org.w3c.dom.ls.LSInput;
+import org.w3c.dom.ls.LSResourceResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+/**
+ * Keeps the compiled schemas, which are thread safe, so a set of XSDs is
+ * compiled only once.
+ * <p>
+ * A set of XSDs is identified by the path and modification time of its
+ * files, or by the digest of the content of its streams, so the same
+ * classpath resource read again is found in the cache. The XSDs they
+ * include or import are recorded while compiling, a cached schema is
+ * compiled again once one of them changes. The errors reported while
+ * compiling a schema are kept with it and reported again to each user of
+ * the schema.
+ */
+final class SchemaCache {
+
+    /**
+     * Maximum number of compiled schemas kept in memory.
+     */
+    private static final int SCHEMA_CACHE_SIZE = 64;
+
+    /**
+     * Maximum number of idle validators kept by a schema.
+     */
+    private static final int MAX_IDLE_VALIDATORS = 2 * Runtime.getRuntime().availableProcessors();
+
+    private static final SchemaCache INSTANCE = new SchemaCache();
+
+    /**
+     * A compiled schema, the errors reported by its compilation and the
+     * validators loaded from it.
+     * <p>
+     * Validators are not thread safe. A validator is used by one document at
+     * a time, then reset and kept for the next one, whatever thread runs it,
+     * so short-lived threads like virtual threads reuse them as well.
+     */
+    static final class CompiledSchema {
+        private final Schema schema;
+        private final Recorder diagnostics;
+        private final List<Dependency> modules;
+        private final BlockingQueue<Validator> idleValidators = new ArrayBlockingQueue<>(MAX_IDLE_VALIDATORS);
+
+        private CompiledSchema(Schema schema, Recorder diagnostics, List<Dependency> modules) {
+            this.schema = schema;
+            this.diagnostics = diagnostics;
+            this.modules = modules;
+        }
+
+        Schema getSchema() {
+            return schema;
+        }
+
+        /**
+         * Tells whether an XSD included or imported by the schema has
+         * changed since it was compiled.
+         */
+        boolean isModified() {
+            return Dependency.isModified(modules);
+        }
+
+        /**
+         * Reports the errors of the compilation to the given handler.
+         */
+        void replay(ErrorHandler handler) throws SAXException {
+            diagnostics.replay(handler);
+        }
+
+        /**
+         * Returns an idle validator, or a new one if all are in use. The
+         * validator must be given back with {@link #release(Validator)}.
+         *
+         * @return a validator of the schema
+         */
+        Validator acquire() {
+            Validator validator = idleValidators.poll();
+            return validator != null ? validator : schema.newValidator();
+        }
+
+        /**
+         * Resets the validator and keeps it for the next document.
+         *
+         * @param validator a validator given by {@link #acquire()}
+         */
+        void release(Validator validator) {
+            try {
+                validator.reset();
+                // do not retain the error handler of the last document
+                validator.setErrorHandler(null);
+                validator.setResourceResolver(null);
+            } catch (RuntimeException e) {
+                // the validator is dropped
+                return;
+            }
+            idleValidators.offer(validator);
+        }
+    }
+
+    /**
+     * Records the errors of a compilation so they can be reported again.
+     */
+    private static final class Recorder implements ErrorHandler {
+        private final List<SAXParseException> warnings = new ArrayList<>();
+        private final List<SAXParseException> errors = new ArrayList<>();
+        private SAXParseException fatalError;
+
+        @Override
+        public void warning(SAXParseException exception) {
+            warnings.add(exception);
+        }
+
+        @Override
+        public void error(SAXParseException exception) {
+            errors.add(exception);
+        }
+
+        @Override
+        public void fatalError(SAXParseException exception) throws SAXException {
+            fatalError = exception;
+            throw exception;
+        }
+
+        void replay(ErrorHandler handler) throws SAXException {
+            for (SAXParseException warning : warnings) {
+                handler.warning(warning);
+            }
+            for (SAXParseException error : errors) {
+                handler.error(error);
+            }
+            if (fatalError != null) {
+                handler.fatalError(fatalError);
+            }
+        }
+    }
+
+    /**
+     * Resolves the XSDs included or imported by a schema like the schema
+     * factory does and records them.
+     */
+    private static final class ModuleRecorder implements LSResourceResolver {
+        private final List<Dependency> modules = new ArrayList<>();
+
+        @Override
+        public LSInput resolveResource(String type, String namespaceURI, String publicId, String systemId, String baseURI) {
+            if (systemId == null) {
+                // an import without location, left to the schema factory
+                return null;
+            }
+            URL url;
+            try {
+                url = baseURI == null ? new URL(systemId) : new URL(new URL(baseURI), systemId);
+            } catch (MalformedURLException e) {
+                return null;
+            }
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            try {
+                modules.add(Dependency.read(url, content));
+            } catch (IOException e) {
+                // the schema factory reports the location it can not read and goes on without it
+                modules.add(Dependency.unreadable(url));
+                return null;
+            }
+            return new ModuleInput(publicId, url.toExternalForm(), baseURI, content.toByteArray());
+        }
+    }
+
+    /**
+     * The content of an XSD read by the {@link ModuleRecorder}.
+     */
+    private static final class ModuleInput implements LSInput {
+        private String publicId;
+        private String systemId;
+        private String baseURI;
+        private InputStream byteStream;
+
+        private ModuleInput(String publicId, String systemId, String baseURI, byte[] content) {
+            this.publicId = publicId;
+            this.systemId = systemId;
+            this.baseURI = baseURI;
+            this.byteStream = new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public Reader getCharacterStream() {
+            return null;
+        }
+
+        @Override
+        public void setCharacterStream(Reader characterStream) {
+        }
+
+        @Override
+        public InputStream getByteStream() {
+            return byteStream;
+        }
+
+        @Override
+        public void setByteStream(InputStream byteStream) {
+            this.byteStream = byteStream;
+        }
+
+        @Override
+        public String getStringData() {
+            return null;
+        }
+
+        @Override
+        public void setStringData(String stringData) {
+        }
+
+        @Override
+        public String getSystemId() {
+            return systemId;
+        }
+
+        @Override
+        public void setSystemId(String systemId) {
+            this.systemId = systemId;
+        }
+
+        @Override
+        public String getPublicId() {
+            return publicId;
+        }
+
+        @Override
+        public void setPublicId(String publicId) {
+            this.publicId = publicId;
+        }
+
+        @Override
+        public String getBaseURI() {
+            return baseURI;
+        }
+
+        @Override
+        public void setBaseURI(String baseURI) {
+            this.baseURI = baseURI;
+        }
+
+        @Override
+        public String getEncoding() {
+            return null;
+        }
+
+        @Override
+        public void setEncoding(String encoding) {
+        }
+
+        @Override
+        public boolean getCertifiedText() {
+            return false;
+        }
+
+        @Override
+        public void setCertifiedText(boolean certifiedText) {
+        }
+    }
+
+    private final LRUCache<String, CompiledSchema> schemas = new LRUCache<>(SCHEMA_CACHE_SIZE);
+
+    private SchemaCache() {
+    }
+
+    static SchemaCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the compiled schema of the given XSDs, compiling it if needed.
+     * The errors of the compilation are reported to the handler.
+     *
+     * @param xsdSources the xsd sources, stream sources are consumed
+     * @param handler    the handler that receives the compilation errors
+     * @return the compiled schema
+     * @throws SAXException if the XSDs could not be compiled
+     */
+    CompiledSchema get(Source[] xsdSources, ErrorHandler handler) throws SAXException {
+        final Source[] sources = xsdSources.clone();
+        String key;
+        try {
+            key = identity(sources);
+        } catch (IOException e) {
+            throw new SAXException("Unable to read the XSD", e);
+        }
+        final Recorder recorder = new Recorder();
+        if (key == null) {
+            // sources that can not be identified are compiled each time
+            try {
+                return newSchema(sources, recorder);
+            } finally {
+                recorder.replay(handler);
+            }
+        }
+
+        CompiledSchema cached = schemas.getIfPresent(key);
+        if (cached != null && cached.isModified()) {
+            // an included or imported XSD has changed since the schema was compiled
+            schemas.invalidate(key);
+        }
+        CompiledSchema compiled;
+        try {
+            compiled = schemas.get(key, k -> newSchema(sources, recorder));
+        } catch (SAXException e) {
+            recorder.replay(handler);
+            throw e;
+        } catch (Exception e) {
+            throw new SAXException(e);
+        }
+        compiled.replay(handler);
+        return compiled;
+    }
+
+    /**
+     * Releases all compiled schemas.
+     */
+    void clear() {
+        schemas.clear();
+    }
+
+    private static CompiledSchema newSchema(Source[] xsdSources, Recorder recorder) throws SAXException {
+        SchemaFactory schemaFactory = SchemaFactory.newInstance("http://www.w3.org/2001/XMLSchema");
+        schemaFactory.setErrorHandler(recorder);
+        ModuleRecorder modules = new ModuleRecorder();
+        schemaFactory.setResourceResolver(modules);
+        return new CompiledSchema(schemaFactory.newSchema(xsdSources), recorder, modules.modules);
+    }
+
+    /**
+     * Computes the identity of a set of XSDs. The stream sources are read
+     * and replaced by sources over their content.
+     *
+     * @return the identity or {@code null} if a source can not be identified
+     */
+    private static String identity(Source[] sources) throws IOException {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < sources.length; i++) {
+            if (!(sources[i] instanceof StreamSource)) {
+                return null;
+            }
+            StreamSource source = (StreamSource) sources[i];
+            String systemId = source.getSystemId();
+            key.append('|');
+            String digest = ResourceCache.getDigest(source);
+            if (digest != null) {
+                // classpath resource, its digest is computed once
+                key.append("bytes:").append(digest).append(':').append(systemId);
+            } else if (source.getInputStream() != null) {
+                byte[] content = Digests.toByteArray(source.getInputStream());
+                sources[i] = new StreamSource(new ByteArrayInputStream(content), systemId);
+                // relative includes are resolved against the system id
+                key.append("bytes:").append(Digests.sha256(content)).append(':').append(systemId);
+            } else if (source.getReader() != null) {
+                String content = Digests.toString(source.getReader());
+                sources[i] = new StreamSource(new StringReader(content), systemId);
+                key.append("chars:").append(Digests.sha256(content)).append(':').append(systemId);
+            } else if (systemId != null && systemId.startsWith("file:")) {
+                File file = new File(URI.create(systemId));
+                key.append("file:").append(file.getPath()).append(':').append(file.lastModified()).append(':').append(file.length());
+            } else if (systemId != null) {
+                key.append("uri:").append(systemId);
+            } else {
+                return null;
+            }
+        }
+        return key.toString();
+    }
+}
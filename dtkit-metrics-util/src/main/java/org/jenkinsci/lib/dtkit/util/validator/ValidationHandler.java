@@ -24,18 +24,74 @@
 package org.jenkinsci.lib.dtkit.util.validator;
 
 import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.List;
 
 
 @SuppressWarnings("serial")
 public class ValidationHandler implements ErrorHandler, Serializable {
 
+    /**
+     * The error id of the entry that reports the errors counted but not
+     * recorded, which is not an error of the document.
+     *
+     * @see #getDroppedCount()
+     */
+    public static final String DROPPED_ERRORS_ID = "dropped-errors";
+
+    /**
+     * The error id of the entry that tells why the validation stopped before
+     * the end of the document, which is not an error of the document.
+     *
+     * @see #isStopped()
+     */
+    public static final String STOPPED_ID = "validation-stopped";
+
+    private List<ValidationError> errors = new CompactErrorList();
+
+    private final ValidationPolicy policy;
+
+    private final transient ValidationErrorListener listener;
+
+    private int errorCount;
+
+    private int recordedCount;
+
+    private int droppedCount;
+
+    private boolean stopped;
+
+    /**
+     * Index of the error that reports the errors counted but not recorded,
+     * added once the record limit of the policy is reached, or -1.
+     */
+    private int summaryIndex = -1;
+
+    public ValidationHandler() {
+        this(ValidationPolicy.unlimited());
+    }
 
-    private List<ValidationError> errors = new ArrayList<ValidationError>();
+    /**
+     * @param policy how many errors are recorded and which number of errors
+     *               stops the validation
+     */
+    public ValidationHandler(ValidationPolicy policy) {
+        this(policy, null);
+    }
+
+    /**
+     * @param policy   how many errors are recorded and which number of
+     *                 errors stops the validation
+     * @param listener the listener that receives each error as it is
+     *                 reported, could be {@code null}
+     */
+    public ValidationHandler(ValidationPolicy policy, ValidationErrorListener listener) {
+        this.policy = policy;
+        this.listener = listener;
+    }
 
     /**
      * Report a non-fatal error
@@ -43,9 +99,10 @@ public class ValidationHandler implements ErrorHandler, Serializable {
      * @param ex the error condition
      */
     @Override
-    public void error(SAXParseException ex) {
+    public void error(SAXParseException ex) throws SAXException {
 
-        errors.add(new ValidationError(ErrorType.ERROR, ex.getLineNumber(), ex.getSystemId(), ex.getMessage()));
+        record(ErrorType.ERROR, ex);
+        checkErrorCount();
     }
 
     /**
@@ -55,10 +112,9 @@ public class ValidationHandler implements ErrorHandler, Serializable {
      */
 
     @Override
-    public void fatalError(SAXParseException ex) {
-        System.err.println("At line " + ex.getLineNumber() + " of " + ex.getSystemId() + ':');
-        System.err.println(ex.getMessage());
-        errors.add(new ValidationError(ErrorType.FATAL_ERROR, ex.getLineNumber(), ex.getSystemId(), ex.getMessage()));
+    public void fatalError(SAXParseException ex) throws SAXException {
+        record(ErrorType.FATAL_ERROR, ex);
+        checkErrorCount();
     }
 
     /**
@@ -68,12 +124,122 @@ public class ValidationHandler implements ErrorHandler, Serializable {
      */
     @Override
     public void warning(org.xml.sax.SAXParseException ex) {
-        System.err.println("At line " + ex.getLineNumber() + " of " + ex.getSystemId() + ':');
-        System.err.println(ex.getMessage());
-        errors.add(new ValidationError(ErrorType.WARNING, ex.getLineNumber(), ex.getSystemId(), ex.getMessage()));
+        record(ErrorType.WARNING, ex);
     }
 
+    /**
+     * Returns the recorded errors. Once the record limit of the policy is
+     * reached, an entry with the {@link #DROPPED_ERRORS_ID} error id and the
+     * number of errors not recorded takes the place of the next error. Once
+     * the error limit is reached, an entry with the {@link #STOPPED_ID}
+     * error id ends the list.
+     *
+     * @return the recorded errors
+     */
     public List<ValidationError> getErrors() {
+        if (summaryIndex != -1) {
+            errors.set(summaryIndex, new ValidationError(ErrorType.ERROR, -1, DROPPED_ERRORS_ID, droppedCount + " more errors not recorded"));
+        }
         return errors;
     }
+
+    /**
+     * @return the number of errors and warnings counted but not recorded
+     *         because of the record limit of the policy
+     */
+    public int getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * @return {@code true} if the validation was stopped by the error limit
+     *         of the policy
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * @return the number of errors and fatal errors reported, recorded or
+     *         not
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Records an error that does not come from the parser, like an I/O
+     * error, and sends it to the listener. The error is not counted as an
+     * error of the document but it is recorded within the limit of the
+     * policy, like the errors of the parser.
+     *
+     * @param error the error
+     */
+    void addError(ValidationError error) {
+        if (listener != null) {
+            listener.onError(error);
+        }
+        add(error);
+    }
+
+    /**
+     * Records the errors of another handler, like the errors of the XSDs
+     * reported for each validated file, without sending them to the
+     * listener again.
+     *
+     * @param other the handler that has recorded the errors
+     */
+    void addErrors(ValidationHandler other) {
+        for (int i = 0; i < other.errors.size(); i++) {
+            if (i != other.summaryIndex) {
+                add(other.errors.get(i));
+            }
+        }
+        if (other.droppedCount > 0) {
+            drop(other.droppedCount);
+        }
+    }
+
+    private void record(ErrorType type, SAXParseException ex) {
+        if (type != ErrorType.WARNING) {
+            errorCount++;
+        }
+        if (listener == null && recordedCount >= policy.getMaxRecordedErrors()) {
+            // only counted, the error is not built
+            drop(1);
+        } else {
+            addError(new ValidationError(type, ex.getLineNumber(), ex.getSystemId(), ex.getMessage()));
+        }
+    }
+
+    private void add(ValidationError error) {
+        if (recordedCount < policy.getMaxRecordedErrors()) {
+            recordedCount++;
+            errors.add(error);
+        } else {
+            drop(1);
+        }
+    }
+
+    private void drop(int count) {
+        droppedCount += count;
+        if (summaryIndex == -1) {
+            // completed by getErrors, only counting is done until then
+            summaryIndex = errors.size();
+            errors.add(new ValidationError(ErrorType.ERROR, -1, DROPPED_ERRORS_ID, null));
+        }
+    }
+
+    /*
+     * Stops the validation once the error limit of the policy is reached.
+     */
+    private void checkErrorCount() throws SAXException {
+        if (errorCount >= policy.getMaxErrors()) {
+            String message = "Validation stopped after " + errorCount + " errors";
+            // neither counted nor sent to the listener, it is not an error of the document
+            stopped = true;
+            errors.add(new ValidationError(ErrorType.ERROR, -1, STOPPED_ID, message));
+            throw new SAXException(message);
+        }
+    }
 }
@@ -0,0 +1,178 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.validator;
+
+import java.io.Serializable;
+import java.nio.file.Path;
+
+/**
+ * Controls how many errors a {@link ValidationService} reports for a
+ * document, so that a badly broken report is rejected quickly with bounded
+ * memory.
+ * <p>
+ * Policies are immutable, each {@code with} method returns a copy. The
+ * {@link #unlimited() unlimited} policy keeps the historical behaviour:
+ * the whole document is validated and every error is reported. Warnings
+ * are recorded but never stop the validation.
+ */
+public final class ValidationPolicy implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static final ValidationPolicy UNLIMITED_POLICY = new ValidationPolicy(UNLIMITED, UNLIMITED, false);
+
+    private final int maxErrors;
+    private final int maxRecordedErrors;
+    private final boolean wellFormednessCheck;
+
+    private ValidationPolicy(int maxErrors, int maxRecordedErrors, boolean wellFormednessCheck) {
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("maxErrors must be positive: " + maxErrors);
+        }
+        if (maxRecordedErrors < 0) {
+            throw new IllegalArgumentException("maxRecordedErrors must not be negative: " + maxRecordedErrors);
+        }
+        this.maxErrors = maxErrors;
+        this.maxRecordedErrors = maxRecordedErrors;
+        this.wellFormednessCheck = wellFormednessCheck;
+    }
+
+    /**
+     * Returns the policy used when none is given: the whole document is
+     * validated and all errors are recorded.
+     *
+     * @return the unlimited policy
+     */
+    public static ValidationPolicy unlimited() {
+        return UNLIMITED_POLICY;
+    }
+
+    /**
+     * Returns a policy that stops the validation at the first error or
+     * fatal error.
+     *
+     * @return the fail-fast policy
+     */
+    public static ValidationPolicy failFast() {
+        return stopAfter(1);
+    }
+
+    /**
+     * Returns a policy that stops the validation once the given number of
+     * errors is reached.
+     *
+     * @param maxErrors the number of errors that stops the validation
+     * @return the policy
+     */
+    public static ValidationPolicy stopAfter(int maxErrors) {
+        return new ValidationPolicy(maxErrors, UNLIMITED, false);
+    }
+
+    /**
+     * Returns a policy that validates the whole document but records only
+     * the given number of errors. The others are counted and reported by a
+     * last summary error.
+     *
+     * @param maxRecordedErrors the number of errors recorded
+     * @return the policy
+     */
+    public static ValidationPolicy countAfter(int maxRecordedErrors) {
+        return new ValidationPolicy(UNLIMITED, maxRecordedErrors, false);
+    }
+
+    /**
+     * @return the number of errors that stops the validation,
+     *         {@link Integer#MAX_VALUE} when unlimited
+     */
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    /**
+     * @return the number of errors and warnings recorded,
+     *         {@link Integer#MAX_VALUE} when unlimited
+     */
+    public int getMaxRecordedErrors() {
+        return maxRecordedErrors;
+    }
+
+    /**
+     * @return true if the files are checked for obvious corruption before
+     *         the schema is compiled
+     * @see ValidationService#checkWellFormedness(Path)
+     */
+    public boolean isWellFormednessCheck() {
+        return wellFormednessCheck;
+    }
+
+    /**
+     * @param maxErrors the number of errors that stops the validation
+     * @return a copy of this policy with the given limit
+     */
+    public ValidationPolicy withMaxErrors(int maxErrors) {
+        return new ValidationPolicy(maxErrors, maxRecordedErrors, wellFormednessCheck);
+    }
+
+    /**
+     * @param maxRecordedErrors the number of errors and warnings recorded
+     * @return a copy of this policy with the given limit
+     */
+    public ValidationPolicy withMaxRecordedErrors(int maxRecordedErrors) {
+        return new ValidationPolicy(maxErrors, maxRecordedErrors, wellFormednessCheck);
+    }
+
+    /**
+     * @param wellFormednessCheck true to reject the empty, truncated or non
+     *                            XML files by reading only their first and
+     *                            last bytes, before the schema is compiled
+     * @return a copy of this policy with the given pre-check
+     */
+    public ValidationPolicy withWellFormednessCheck(boolean wellFormednessCheck) {
+        return new ValidationPolicy(maxErrors, maxRecordedErrors, wellFormednessCheck);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ValidationPolicy)) {
+            return false;
+        }
+        ValidationPolicy other = (ValidationPolicy) obj;
+        return maxErrors == other.maxErrors && maxRecordedErrors == other.maxRecordedErrors && wellFormednessCheck == other.wellFormednessCheck;
+    }
+
+    @Override
+    public int hashCode() {
+        return (31 * maxErrors + maxRecordedErrors) * 31 + (wellFormednessCheck ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationPolicy[maxErrors=" + maxErrors + ", maxRecordedErrors=" + maxRecordedErrors + ", wellFormednessCheck=" + wellFormednessCheck + "]";
+    }
+}
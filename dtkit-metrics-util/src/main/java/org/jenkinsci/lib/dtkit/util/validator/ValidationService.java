@@ -23,27 +23,98 @@
  */
 package org.jenkinsci.lib.dtkit.util.validator;
 
-import java.io.Closeable;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
-import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
+import javax.xml.validation.ValidatorHandler;
+import org.jenkinsci.lib.dtkit.util.concurrent.AsyncExecutors;
+import org.jenkinsci.lib.dtkit.util.io.CompressedStreams;
+import org.jenkinsci.lib.dtkit.util.validator.SchemaCache.CompiledSchema;
 import org.w3c.dom.ls.LSInput;
 import org.w3c.dom.ls.LSResourceResolver;
+import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
 
 
 @SuppressWarnings("serial")
 public class ValidationService implements Serializable {
 
+    private static final Resolver RESOLVER = new Resolver();
+
+    private final ValidationPolicy policy;
+
+    /**
+     * The error listeners, not serialized. Created by the first registration.
+     */
+    private transient volatile List<ValidationErrorListener> listeners;
+
+    public ValidationService() {
+        this(ValidationPolicy.unlimited());
+    }
+
+    /**
+     * @param policy how many errors are reported for each document
+     */
+    public ValidationService(ValidationPolicy policy) {
+        this.policy = policy;
+    }
+
+    public ValidationPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Registers a listener that receives the errors of all the documents
+     * validated by this service as they are reported.
+     *
+     * @param listener the listener, it must be thread safe
+     */
+    public synchronized void addErrorListener(ValidationErrorListener listener) {
+        if (listeners == null) {
+            listeners = new CopyOnWriteArrayList<>();
+        }
+        listeners.add(listener);
+    }
+
+    public synchronized void removeErrorListener(ValidationErrorListener listener) {
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Creates the handler of a document, which applies the policy and
+     * notifies the listeners.
+     */
+    private ValidationHandler newHandler() {
+        final List<ValidationErrorListener> current = listeners;
+        if (current == null || current.isEmpty()) {
+            return new ValidationHandler(policy);
+        }
+        return new ValidationHandler(policy, error -> {
+            for (ValidationErrorListener listener : current) {
+                listener.onError(error);
+            }
+        });
+    }
 
     /**
      * Inner class to implement a resource resolver. This version always returns null, which
@@ -75,7 +146,8 @@ public class ValidationService implements Serializable {
 
 
     /**
-     * Validate an input file against a XSD
+     * Validate an input file against a XSD. The input file may be gzip
+     * compressed.
      *
      * @param xsdSource the xsd source
      * @param inputXML  the input XML file
@@ -87,49 +159,318 @@ public class ValidationService implements Serializable {
     }
 
     public List<ValidationError> processValidation(File[] xsdFiles, File inputXML) throws ValidationException {
-        List<InputStream> sources = new ArrayList<>(xsdFiles.length);
+        for (File xsd : xsdFiles) {
+            if (!xsd.isFile()) {
+                throw new ValidationException(new FileNotFoundException(xsd.getPath()));
+            }
+        }
+        // file sources are cached by path and modification time
+        StreamSource[] ss = Arrays.stream(xsdFiles).map(StreamSource::new).toArray(StreamSource[]::new);
+        return processValidation(ss, inputXML);
+    }
+
+    public List<ValidationError> processValidation(Source[] xsdSources, File inputXML) throws ValidationException {
+        return processValidation(xsdSources, inputXML.toPath());
+    }
+
+    /**
+     * Validate an input file against a XSD. The input file may be gzip
+     * compressed, it is read through its channel with a pooled buffer.
+     *
+     * @param xsdSource the xsd source
+     * @param inputXML  the input XML file
+     * @return the validation errors, empty if the file is valid
+     * @throws ValidationException when the input file could not be read
+     */
+    public List<ValidationError> processValidation(Source xsdSource, Path inputXML) throws ValidationException {
+        return processValidation(new Source[]{xsdSource}, inputXML);
+    }
+
+    public List<ValidationError> processValidation(Source[] xsdSources, Path inputXML) throws ValidationException {
+
+        ValidationHandler handler = newHandler();
         try {
-            for (File xsd : xsdFiles) {
-                sources.add(new FileInputStream(xsd));
+            if (!precheck(handler, inputXML)) {
+                return handler.getErrors();
             }
+        } catch (IOException ioe) {
+            throw new ValidationException("Validation error", ioe);
+        }
 
-            StreamSource[] ss = sources.stream().map(s -> new StreamSource(s)).toArray(StreamSource[]::new);
-            return processValidation(ss, inputXML);
-        } catch (IOException e) {
-            throw new ValidationException(e);
-        } finally {
-            sources.stream().forEach(s -> closeQuietly(s));
+        CompiledSchema schemaGrammar;
+        try {
+            schemaGrammar = newSchema(xsdSources, handler);
+        } catch (SAXException sae) {
+            addException(handler, sae);
+            return handler.getErrors();
+        }
+
+        for (int i = 0; i < xsdSources.length; i++) {
+            xsdSources[i] = null;
+        }
+
+        try {
+            return validate(schemaGrammar, handler, inputXML);
+        } catch (IOException ioe) {
+            throw new ValidationException("Validation error", ioe);
         }
     }
 
-    public List<ValidationError> processValidation(Source[] xsdSources, File inputXML) throws ValidationException {
+    /**
+     * Validate an input file against XSDs on the
+     * {@link AsyncExecutors#getDefault() default executor}, virtual threads
+     * on Java 21 or newer.
+     *
+     * @param xsdSources the xsd sources, read before this method returns
+     * @param inputXML   the input XML file
+     * @return a future of the validation errors, or completed exceptionally
+     *         with a {@link ValidationException} when the input file could
+     *         not be read
+     */
+    public CompletableFuture<List<ValidationError>> processValidationAsync(Source[] xsdSources, Path inputXML) {
+        return processValidationAsync(xsdSources, inputXML, AsyncExecutors.getDefault());
+    }
 
-        ValidationHandler handler = new ValidationHandler();
+    /**
+     * Validate an input file against XSDs on the given executor. The XSDs are
+     * compiled by the calling thread, so their sources can be closed once
+     * this method returns.
+     *
+     * @param xsdSources the xsd sources
+     * @param inputXML   the input XML file
+     * @param executor   the executor that runs the validation
+     * @return a future of the validation errors, or completed exceptionally
+     *         with a {@link ValidationException} when the input file could
+     *         not be read
+     */
+    public CompletableFuture<List<ValidationError>> processValidationAsync(Source[] xsdSources, final Path inputXML, Executor executor) {
+        final ValidationHandler handler = newHandler();
+        final CompiledSchema schemaGrammar;
         try {
+            schemaGrammar = newSchema(xsdSources, handler);
+        } catch (SAXException sae) {
+            addException(handler, sae);
+            return CompletableFuture.completedFuture(handler.getErrors());
+        }
 
-            SchemaFactory schemaFactory = SchemaFactory.newInstance("http://www.w3.org/2001/XMLSchema");
-            schemaFactory.setErrorHandler(handler);
-            Schema schemaGrammar = schemaFactory.newSchema(xsdSources);
-            Resolver resolver = new Resolver();
-            Validator schemaValidator = schemaGrammar.newValidator();
-            schemaValidator.setErrorHandler(handler);
-            schemaValidator.setResourceResolver(resolver);
-            schemaValidator.validate(new StreamSource(inputXML));
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    if (!precheck(handler, inputXML)) {
+                        return handler.getErrors();
+                    }
+                    return validate(schemaGrammar, handler, inputXML);
+                } catch (IOException ioe) {
+                    throw new CompletionException(new ValidationException("Validation error", ioe));
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<List<ValidationError>> future = new CompletableFuture<>();
+            future.completeExceptionally(new ValidationException("Validation error", e));
+            return future;
+        }
+    }
 
-            for (int i = 0; i < xsdSources.length; i++) {
-                xsdSources[i] = null;
+    /**
+     * Validate many files against the same XSDs. The XSDs are compiled once
+     * and the files are validated in parallel using as many threads as
+     * available processors. The files may be gzip compressed.
+     *
+     * @param xsdSources the xsd sources
+     * @param inputXMLs  the input XML files
+     * @return the validation errors of each file, empty if the file is
+     *         valid, in the iteration order of the given files
+     */
+    public Map<File, List<ValidationError>> processValidationAll(Source[] xsdSources, Collection<File> inputXMLs) {
+        int threads = Math.max(1, Math.min(inputXMLs.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            return processValidationAll(xsdSources, inputXMLs, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Validate many files against the same XSDs. The XSDs are compiled once
+     * by the calling thread and the files are validated by the given
+     * executor. A file that could not be read gets an error and does not
+     * stop the validation of the others.
+     *
+     * @param xsdSources the xsd sources
+     * @param inputXMLs  the input XML files
+     * @param executor   the executor that runs the validations
+     * @return the validation errors of each file, empty if the file is
+     *         valid, in the iteration order of the given files
+     */
+    public Map<File, List<ValidationError>> processValidationAll(Source[] xsdSources, Collection<File> inputXMLs, Executor executor) {
+        Map<File, List<ValidationError>> results = new LinkedHashMap<>();
+        ValidationHandler schemaHandler = newHandler();
+        final CompiledSchema schemaGrammar;
+        try {
+            schemaGrammar = newSchema(xsdSources, schemaHandler);
+        } catch (SAXException sae) {
+            addException(schemaHandler, sae);
+            for (File inputXML : inputXMLs) {
+                results.put(inputXML, new CompactErrorList(schemaHandler.getErrors()));
             }
+            return results;
+        }
 
+        // the errors of the XSDs are reported for each file
+        Map<File, CompletableFuture<List<ValidationError>>> futures = new LinkedHashMap<>();
+        for (final File inputXML : inputXMLs) {
+            CompletableFuture<List<ValidationError>> future;
+            try {
+                future = CompletableFuture.supplyAsync(() -> validateOne(schemaGrammar, schemaHandler, inputXML), executor);
+            } catch (RejectedExecutionException e) {
+                future = CompletableFuture.completedFuture(failure(schemaHandler, e));
+            }
+            futures.put(inputXML, future);
+        }
+
+        for (Map.Entry<File, CompletableFuture<List<ValidationError>>> future : futures.entrySet()) {
+            results.put(future.getKey(), future.getValue().join());
+        }
+        return results;
+    }
+
+    private List<ValidationError> validateOne(CompiledSchema schemaGrammar, ValidationHandler schemaHandler, File inputXML) {
+        ValidationHandler handler = newHandler();
+        handler.addErrors(schemaHandler);
+        try {
+            if (!precheck(handler, inputXML.toPath())) {
+                return handler.getErrors();
+            }
+            return validate(schemaGrammar, handler, inputXML.toPath());
+        } catch (IOException | RuntimeException e) {
+            handler.addError(new ValidationError(ErrorType.ERROR, -1, "-1", "Validation error: " + e));
             return handler.getErrors();
-        } catch (SAXException sae) {
-            List<ValidationError> errors = handler.getErrors();
-            errors.add(new ValidationError(ErrorType.ERROR, -1, "-1", sae.getMessage()));
-            return errors;
+        }
+    }
+
+    private List<ValidationError> failure(ValidationHandler schemaHandler, Exception e) {
+        ValidationHandler handler = newHandler();
+        handler.addErrors(schemaHandler);
+        handler.addError(new ValidationError(ErrorType.ERROR, -1, "-1", "Validation error: " + e));
+        return handler.getErrors();
+    }
+
+    /**
+     * Checks that a file looks like an XML document, without loading any
+     * schema: the file must not be empty, must start with a markup and,
+     * unless compressed, end with a tag. Only the first and last few
+     * kilobytes are read, a file that passes may still be malformed.
+     *
+     * @param inputXML the input XML file
+     * @return the errors found, empty if the file looks like an XML document
+     * @throws ValidationException when the input file could not be read
+     */
+    public List<ValidationError> checkWellFormedness(Path inputXML) throws ValidationException {
+        try {
+            return WellFormednessCheck.check(inputXML);
         } catch (IOException ioe) {
             throw new ValidationException("Validation error", ioe);
         }
     }
 
+    public List<ValidationError> checkWellFormedness(File inputXML) throws ValidationException {
+        return checkWellFormedness(inputXML.toPath());
+    }
+
+    /*
+     * Runs the well-formedness check if the policy asks for it, its errors
+     * are given to the handler. Returns false if the file is rejected.
+     */
+    private boolean precheck(ValidationHandler handler, Path inputXML) throws IOException {
+        if (!policy.isWellFormednessCheck()) {
+            return true;
+        }
+        List<ValidationError> errors = WellFormednessCheck.check(inputXML);
+        for (ValidationError error : errors) {
+            handler.addError(error);
+        }
+        return errors.isEmpty();
+    }
+
+    /*
+     * Validates the input file with a pooled validator of the schema, the
+     * handler collects the errors of this document only.
+     */
+    private static List<ValidationError> validate(CompiledSchema schemaGrammar, ValidationHandler handler, Path inputXML) throws IOException {
+        Validator schemaValidator = schemaGrammar.acquire();
+        try {
+            schemaValidator.setErrorHandler(handler);
+            schemaValidator.setResourceResolver(RESOLVER);
+            try (InputStream input = CompressedStreams.openInput(inputXML)) {
+                schemaValidator.validate(new StreamSource(input, inputXML.toUri().toString()));
+            }
+            return handler.getErrors();
+        } catch (SAXException sae) {
+            addException(handler, sae);
+            return handler.getErrors();
+        } finally {
+            schemaGrammar.release(schemaValidator);
+        }
+    }
+
+    /*
+     * Records the exception that has ended a validation or a compilation,
+     * unless the handler has thrown it to stop once the error limit of the
+     * policy is reached.
+     */
+    private static void addException(ValidationHandler handler, SAXException sae) {
+        if (!handler.isStopped()) {
+            handler.addError(new ValidationError(ErrorType.ERROR, -1, "-1", sae.getMessage()));
+        }
+    }
+
+    /**
+     * Creates a handler that validates the SAX events it receives against
+     * the given XSDs. It allows to validate a document while it is produced,
+     * for example by a conversion, without writing and parsing it again.
+     *
+     * @param xsdSources the xsd sources
+     * @param handler    the handler that receives the validation errors
+     * @return the validator handler
+     * @throws ValidationException when the XSDs could not be compiled
+     */
+    public ValidatorHandler newValidatorHandler(Source[] xsdSources, ErrorHandler handler) throws ValidationException {
+        try {
+            ValidatorHandler validatorHandler = newSchema(xsdSources, handler).getSchema().newValidatorHandler();
+            validatorHandler.setErrorHandler(handler);
+            validatorHandler.setResourceResolver(new Resolver());
+            return validatorHandler;
+        } catch (SAXException e) {
+            throw new ValidationException("Invalid XSD", e);
+        }
+    }
+
+    /**
+     * Compiles the given XSDs and keeps the result in the schema cache, so
+     * the next validations against them start at once.
+     *
+     * @param xsdSources the xsd sources
+     * @return the errors reported by the compilation, empty if the XSDs are
+     *         valid
+     */
+    public List<ValidationError> compile(Source[] xsdSources) {
+        ValidationHandler handler = new ValidationHandler();
+        try {
+            newSchema(xsdSources, handler);
+        } catch (SAXException sae) {
+            addException(handler, sae);
+        }
+        return handler.getErrors();
+    }
+
+    /**
+     * Returns the compiled schema of the given XSDs from the schema cache.
+     */
+    private CompiledSchema newSchema(Source[] xsdSources, ErrorHandler handler) throws SAXException {
+        return SchemaCache.getInstance().get(xsdSources, handler);
+    }
+
     /**
      * Validate an input file against a XSD
      *
@@ -142,14 +483,4 @@ public class ValidationService implements Serializable {
 
         return processValidation(new StreamSource(xsdFile), inputXML);
     }
-
-    private static void closeQuietly(final Closeable closeable) {
-        try {
-            if (closeable != null) {
-                closeable.close();
-            }
-        } catch (final IOException ioe) {
-            // ignore
-        }
-    }
-}
\ No newline at end of file
+}
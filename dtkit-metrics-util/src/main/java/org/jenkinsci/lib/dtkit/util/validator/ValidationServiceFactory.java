@@ -29,4 +29,20 @@ public class ValidationServiceFactory {
     public static ValidationService getInstance() {
         return new ValidationService();
     }
+
+    /**
+     * @param policy how many errors are reported for each document
+     * @return a validation service applying the given policy
+     */
+    public static ValidationService getInstance(ValidationPolicy policy) {
+        return new ValidationService(policy);
+    }
+
+    /**
+     * Releases all compiled schemas. Validations started before this call
+     * keep the schema they are using.
+     */
+    public static void reset() {
+        SchemaCache.getInstance().clear();
+    }
 }
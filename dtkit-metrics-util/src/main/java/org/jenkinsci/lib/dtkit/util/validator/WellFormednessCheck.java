@@ -0,0 +1,200 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.validator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.jenkinsci.lib.dtkit.util.io.CompressedStreams;
+
+/**
+ * Rejects the files that are obviously not XML documents, like the empty
+ * or truncated reports of a crashed test run, by reading only their first
+ * and last few kilobytes.
+ * <p>
+ * A file that passes the check may still be malformed, the parser of the
+ * full validation reports it then. Only whitespace, byte order marks and
+ * zero bytes are skipped, so UTF-8 and UTF-16 documents are both
+ * recognized.
+ */
+final class WellFormednessCheck {
+
+    private static final int PEEK_SIZE = 4096;
+
+    private WellFormednessCheck() {
+    }
+
+    /**
+     * Checks the beginning and the end of a file. The end of a compressed
+     * file is not checked.
+     *
+     * @param path the file to check
+     * @return the errors found, empty if the file looks like an XML document
+     * @throws IOException in case of read error
+     */
+    static List<ValidationError> check(Path path) throws IOException {
+        List<ValidationError> errors = new CompactErrorList();
+        String systemId = path.toUri().toString();
+
+        byte[] head = new byte[PEEK_SIZE];
+        int headLength;
+        try (InputStream input = CompressedStreams.openInput(path)) {
+            headLength = readFully(input, head);
+        }
+        int first = firstSignificant(head, headLength);
+        if (first == -1) {
+            errors.add(new ValidationError(ErrorType.FATAL_ERROR, -1, systemId, headLength < PEEK_SIZE ? "The file is empty" : "The file starts with " + PEEK_SIZE + " blank bytes"));
+            return errors;
+        }
+        if (head[first] != '<') {
+            errors.add(new ValidationError(ErrorType.FATAL_ERROR, -1, systemId, "The file is not an XML document"));
+            return errors;
+        }
+
+        if (!CompressedStreams.isCompressed(path)) {
+            byte[] tail = readTail(path);
+            int last = lastSignificant(tail);
+            if (last == -1 || tail[last] != '>' || !isClosingMarkup(tail, last)) {
+                errors.add(new ValidationError(ErrorType.FATAL_ERROR, -1, systemId, "The file is truncated, it does not end with a closing tag"));
+            }
+        }
+        return errors;
+    }
+
+    private static int readFully(InputStream input, byte[] buffer) throws IOException {
+        int length = 0;
+        int read;
+        while (length < buffer.length && (read = input.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+        }
+        return length;
+    }
+
+    private static byte[] readTail(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, PEEK_SIZE));
+            long position = size - buffer.capacity();
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read == -1) {
+                    break;
+                }
+            }
+            byte[] tail = new byte[buffer.position()];
+            buffer.flip();
+            buffer.get(tail);
+            return tail;
+        }
+    }
+
+    /*
+     * Tells if the markup ending at the given '>' can end a document: an end
+     * tag, an empty element, a comment or a processing instruction. A start
+     * tag can not.
+     */
+    private static boolean isClosingMarkup(byte[] bytes, int end) {
+        if (endsWith(bytes, end, "-->") || endsWith(bytes, end, "?>")) {
+            // a comment or a processing instruction, which may contain '<'
+            return true;
+        }
+        int start = end - 1;
+        while (start >= 0 && bytes[start] != '<') {
+            start--;
+        }
+        if (start == -1) {
+            // the markup is longer than the bytes read
+            return true;
+        }
+        int next = start + 1;
+        while (next < end && bytes[next] == 0x00) {
+            next++;
+        }
+        if (bytes[next] == '/' || bytes[next] == '!' || bytes[next] == '?') {
+            return true;
+        }
+        int previous = end - 1;
+        while (previous > start && bytes[previous] == 0x00) {
+            previous--;
+        }
+        return bytes[previous] == '/';
+    }
+
+    private static boolean endsWith(byte[] bytes, int end, String suffix) {
+        int i = end;
+        for (int k = suffix.length() - 1; k >= 0; k--, i--) {
+            while (i >= 0 && bytes[i] == 0x00) {
+                i--;
+            }
+            if (i < 0 || bytes[i] != suffix.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int firstSignificant(byte[] bytes, int length) {
+        int i = 0;
+        // UTF-8 byte order mark
+        if (length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+            i = 3;
+        }
+        for (; i < length; i++) {
+            if (!isIgnorable(bytes[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastSignificant(byte[] bytes) {
+        for (int i = bytes.length - 1; i >= 0; i--) {
+            if (!isIgnorable(bytes[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isIgnorable(byte b) {
+        switch (b & 0xFF) {
+        case ' ':
+        case '\t':
+        case '\r':
+        case '\n':
+        case 0x00:
+        // UTF-16 byte order marks
+        case 0xFE:
+        case 0xFF:
+            return true;
+        default:
+            return false;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class DependencyTest {
+
+    @Rule
+    public TemporaryFolder fileRule = new TemporaryFolder();
+
+    @Test
+    public void readFile() throws Exception {
+        File file = fileRule.newFile("module.xsl");
+        Files.write(file.toPath(), "<a/>".getBytes(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        Dependency dependency = Dependency.read(file.toURI().toURL(), content);
+
+        assertEquals("<a/>", content.toString("UTF-8"));
+        assertEquals(Digests.sha256("<a/>"), dependency.getDigest());
+        assertFalse(dependency.isModified());
+
+        Files.write(file.toPath(), "<ab/>".getBytes(StandardCharsets.UTF_8));
+        assertTrue(dependency.isModified());
+        assertTrue(Dependency.isModified(Collections.singletonList(dependency)));
+    }
+
+    @Test
+    public void readJarEntry() throws Exception {
+        File jar = fileRule.newFile("modules.jar");
+        writeJar(jar, "<a/>");
+        URL url = new URL("jar:" + jar.toURI().toURL() + "!/module.xsl");
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        Dependency dependency = Dependency.read(url, content);
+        assertEquals("<a/>", content.toString("UTF-8"));
+        assertFalse(dependency.isModified());
+
+        // a new version of the JAR at the same path
+        writeJar(jar, "<b/>");
+        jar.setLastModified(jar.lastModified() + 2000);
+        assertTrue(dependency.isModified());
+        content.reset();
+        assertEquals(Digests.sha256("<b/>"), Dependency.read(url, content).getDigest());
+    }
+
+    @Test
+    public void watchUnreadableFile() throws Exception {
+        File file = new File(fileRule.getRoot(), "missing.xsd");
+        Dependency dependency = Dependency.unreadable(file.toURI().toURL());
+        assertNull(dependency.getDigest());
+        assertFalse(dependency.isModified());
+
+        Files.write(file.toPath(), "<a/>".getBytes(StandardCharsets.UTF_8));
+        assertTrue(dependency.isModified());
+    }
+
+    private static void writeJar(File jar, String module) throws Exception {
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry("module.xsl"));
+            out.write(module.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+    }
+}
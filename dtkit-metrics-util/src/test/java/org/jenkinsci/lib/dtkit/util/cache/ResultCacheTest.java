@@ -0,0 +1,76 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class ResultCacheTest {
+
+    @Rule
+    public TemporaryFolder fileRule = new TemporaryFolder();
+
+    @Test
+    public void serveCachedResultAfterRestart() throws Exception {
+        Path directory = fileRule.newFolder("cache").toPath();
+        final Path output = fileRule.getRoot().toPath().resolve("output.xml");
+        final AtomicInteger produced = new AtomicInteger();
+        ResultCache.Producer producer = () -> {
+            produced.incrementAndGet();
+            Files.write(output, "<result/>".getBytes(StandardCharsets.UTF_8));
+        };
+
+        assertFalse(new ResultCache(directory, 1024).get("abc", output, producer));
+        Files.delete(output);
+
+        // a new instance reads the entries written by the previous one
+        assertTrue(new ResultCache(directory, 1024).get("abc", output, producer));
+        assertEquals(1, produced.get());
+        assertEquals("<result/>", new String(Files.readAllBytes(output), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void evictWhenFull() throws Exception {
+        ResultCache cache = new ResultCache(fileRule.newFolder("cache").toPath(), 10);
+        final Path output = fileRule.getRoot().toPath().resolve("output.xml");
+        ResultCache.Producer producer = () -> Files.write(output, "12345".getBytes(StandardCharsets.UTF_8));
+
+        cache.get("a", output, producer);
+        cache.get("b", output, producer);
+        cache.get("c", output, producer);
+
+        assertTrue(cache.size() <= 10);
+        try (Stream<Path> entries = Files.list(cache.getDirectory())) {
+            assertEquals(2, entries.count());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.converter;
+
+import java.io.File;
+import org.apache.commons.io.FileUtils;
+import org.hamcrest.CoreMatchers;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class ConversionServiceFactoryTest {
+
+    @Rule
+    public TemporaryFolder fileRule = new TemporaryFolder();
+
+    @After
+    public void reset() {
+        ConversionServiceFactory.reset();
+    }
+
+    @Test
+    public void servicesShareOneContext() throws Exception {
+        ConversionService service = ConversionServiceFactory.getInstance();
+        ConversionService lean = ConversionServiceFactory.getInstance(ConversionOptions.lean());
+
+        assertSame(service.getContext(), lean.getContext());
+        assertSame(service.getContext().getProcessor(), lean.getContext().getProcessor());
+        assertSame(service.getContext(), new ConversionService().getContext());
+
+        // a stylesheet compiled by a service is found by the others
+        File xsl = xsl();
+        service.compile(xsl);
+        lean.compile(xsl);
+        assertEquals(1, service.getContext().getStylesheetCount());
+    }
+
+    @Test
+    public void resetClosesTheContext() throws Exception {
+        ConversionService before = ConversionServiceFactory.getInstance();
+        ConversionContext context = before.getContext();
+        File xsl = xsl();
+        before.compile(xsl);
+        assertEquals(1, context.getStylesheetCount());
+
+        ConversionServiceFactory.reset();
+
+        assertEquals(0, context.getStylesheetCount());
+        ConversionService after = ConversionServiceFactory.getInstance();
+        assertNotSame(context, after.getContext());
+        assertNotSame(context.getProcessor(), after.getContext().getProcessor());
+        assertEquals(0, after.getContext().getStylesheetCount());
+    }
+
+    @Test
+    public void servicesWorkAfterReset() throws Exception {
+        File xsl = xsl();
+        File input = fileRule.newFile("input.xml");
+        FileUtils.copyURLToFile(this.getClass().getResource("myex.xml"), input);
+        ConversionService before = ConversionServiceFactory.getInstance();
+        before.convert(xsl, input, fileRule.newFile("output0.xml"), null);
+
+        ConversionServiceFactory.reset();
+
+        File output1 = fileRule.newFile("output1.xml");
+        ConversionServiceFactory.getInstance().convert(xsl, input, output1, null);
+        assertThat(FileUtils.readFileToString(output1, "UTF-8"), CoreMatchers.containsString("<root>val1</root>"));
+
+        // a service obtained before the reset compiles the stylesheet again
+        File output2 = fileRule.newFile("output2.xml");
+        before.convert(xsl, input, output2, null);
+        assertThat(FileUtils.readFileToString(output2, "UTF-8"), CoreMatchers.containsString("<root>val1</root>"));
+    }
+
+    private File xsl() throws Exception {
+        File xsl = fileRule.newFile("myex-xml.xsl");
+        FileUtils.copyURLToFile(this.getClass().getResource("myex-xml.xsl"), xsl);
+        return xsl;
+    }
+}
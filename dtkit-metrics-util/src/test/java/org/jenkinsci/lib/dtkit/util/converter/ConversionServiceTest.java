@@ -0,0 +1,373 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2010, Thales Corporate Services SAS, Gregory Boissinot
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.converter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.hamcrest.CoreMatchers;
+import org.jenkinsci.lib.dtkit.util.cache.ResultCache;
+import org.jenkinsci.lib.dtkit.util.validator.ValidationError;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xmlunit.builder.DiffBuilder;
+import org.xmlunit.builder.Input;
+import org.xmlunit.diff.Diff;
+
+import static org.junit.Assert.*;
+
+public class ConversionServiceTest {
+
+    @Rule
+    public TemporaryFolder fileRule = new TemporaryFolder();
+
+    private void convertAndValidate(String inputXSLPath, String inputXMLPath, String expectedResultPath) throws Exception {
+
+        ConversionService conversionService = new ConversionService();
+
+        File outputXMLFile = fileRule.newFile();
+
+        // The input file must be valid
+        try (InputStream xsl = this.getClass().getResourceAsStream(inputXSLPath);
+                InputStream input = this.getClass().getResourceAsStream(inputXMLPath);
+                InputStream expectedOutput = this.getClass().getResourceAsStream(expectedResultPath)) {
+
+            conversionService.convert(new StreamSource(xsl), new InputSource(input), outputXMLFile, null);
+            assertThat("XSL transformation did not work", //
+                    FileUtils.readFileToString(outputXMLFile, "UTF-8"), //
+                    CoreMatchers.equalTo(IOUtils.toString(expectedOutput, "UTF-8")));
+        }
+    }
+
+    @Test
+    public void convertTxt() throws Exception {
+        convertAndValidate("myex-txt.xsl", "myex.xml", "myex-outtxt.txt");
+    }
+
+    @Test
+    public void convertXml() throws Exception {
+        convertAndValidate("myex-xml.xsl", "myex.xml", "myex-outxml.xml");
+    }
+
+    @Test
+    public void parametersAreNotPassedToTheStylesheet() throws Exception {
+        ConversionService conversionService = new ConversionService();
+
+        try (InputStream xsl = this.getClass().getResourceAsStream("myex-param.xsl");
+                InputStream input = this.getClass().getResourceAsStream("myex.xml")) {
+            String output = conversionService.convertAndReturn(new StreamSource(xsl), new InputSource(input), Collections.<String, Object> singletonMap("prefix", "p-"));
+            assertThat(output, CoreMatchers.containsString("none-val1"));
+        }
+
+        try (InputStream xsl = this.getClass().getResourceAsStream("myex-param.xsl");
+                InputStream input = this.getClass().getResourceAsStream("myex.xml")) {
+            String output = conversionService.convertAndReturn(new StreamSource(xsl), new InputSource(input), null);
+            assertThat(output, CoreMatchers.containsString("none-val1"));
+        }
+    }
+
+    @Test
+    public void resolveIncludesOfSameStylesheetAgainstItsOwnLocation() throws Exception {
+        ConversionService conversionService = new ConversionService();
+
+        for (String location : new String[] { "include-a", "include-b" }) {
+            URL xsl = this.getClass().getResource(location + "/myex-include.xsl");
+            try (InputStream xslIS = xsl.openStream();
+                    InputStream input = this.getClass().getResourceAsStream("myex.xml")) {
+                // same stylesheet content, the included file differs
+                String output = conversionService.convertAndReturn(new StreamSource(xslIS, xsl.toExternalForm()), new InputSource(input), null);
+                assertThat(output, CoreMatchers.containsString("<root-" + location.substring(location.length() - 1) + ">val1</root-"));
+            }
+        }
+    }
+
+    @Test
+    public void compileAgainWhenAnIncludedFileChanges() throws Exception {
+        ConversionService conversionService = new ConversionService();
+        File xsl = fileRule.newFile("myex-include.xsl");
+        File name = fileRule.newFile("myex-name.xsl");
+        File input = fileRule.newFile("input.xml");
+        FileUtils.copyURLToFile(this.getClass().getResource("include-a/myex-include.xsl"), xsl);
+        FileUtils.copyURLToFile(this.getClass().getResource("include-a/myex-name.xsl"), name);
+        FileUtils.copyURLToFile(this.getClass().getResource("myex.xml"), input);
+        long lastModified = xsl.lastModified();
+
+        File output = fileRule.newFile("output.xml");
+        conversionService.convert(xsl, input, output, null);
+        assertThat(FileUtils.readFileToString(output, "UTF-8"), CoreMatchers.containsString("<root-a>val1</root-a>"));
+
+        // only the included file changes
+        FileUtils.copyURLToFile(this.getClass().getResource("include-b/myex-name.xsl"), name);
+        name.setLastModified(name.lastModified() + 2000);
+        assertEquals(lastModified, xsl.lastModified());
+        conversionService.convert(xsl, input, output, null);
+        assertThat(FileUtils.readFileToString(output, "UTF-8"), CoreMatchers.containsString("<root-b>val1</root-b>"));
+    }
+
+    @Test
+    public void doNotServeCachedResultWhenAnIncludedFileChanges() throws Exception {
+        File xsl = fileRule.newFile("myex-include.xsl");
+        File name = fileRule.newFile("myex-name.xsl");
+        File input = fileRule.newFile("input.xml");
+        FileUtils.copyURLToFile(this.getClass().getResource("include-a/myex-include.xsl"), xsl);
+        FileUtils.copyURLToFile(this.getClass().getResource("include-a/myex-name.xsl"), name);
+        FileUtils.copyURLToFile(this.getClass().getResource("myex.xml"), input);
+
+        ConversionServiceFactory.setResultCache(new ResultCache(fileRule.newFolder("cache").toPath(), 1024 * 1024));
+        try {
+            File output = fileRule.newFile("output.xml");
+            ConversionServiceFactory.getInstance().convert(xsl, input, output, null);
+            assertThat(FileUtils.readFileToString(output, "UTF-8"), CoreMatchers.containsString("<root-a>val1</root-a>"));
+
+            FileUtils.copyURLToFile(this.getClass().getResource("include-b/myex-name.xsl"), name);
+            name.setLastModified(name.lastModified() + 2000);
+            ConversionServiceFactory.getInstance().convert(xsl, input, output, null);
+            assertThat(FileUtils.readFileToString(output, "UTF-8"), CoreMatchers.containsString("<root-b>val1</root-b>"));
+        } finally {
+            ConversionServiceFactory.setResultCache(null);
+        }
+    }
+
+    @Test
+    public void convertAllReportsEachFile() throws Exception {
+        ConversionService conversionService = new ConversionService();
+
+        File input = fileRule.newFile("input.xml");
+        try (InputStream is = this.getClass().getResourceAsStream("myex.xml")) {
+            FileUtils.writeStringToFile(input, IOUtils.toString(is, "UTF-8"), "UTF-8");
+        }
+        File missing = new File(fileRule.getRoot(), "missing.xml");
+
+        Map<File, File> files = new LinkedHashMap<>();
+        files.put(input, fileRule.newFile("output1.xml"));
+        files.put(missing, fileRule.newFile("output2.xml"));
+
+        List<ConversionResult> results;
+        try (InputStream xsl = this.getClass().getResourceAsStream("myex-xml.xsl")) {
+            results = conversionService.convertAll(new StreamSource(xsl), files, null);
+        }
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertThat(FileUtils.readFileToString(results.get(0).getOutputFile(), "UTF-8"), CoreMatchers.containsString("<root>val1</root>"));
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(missing, results.get(1).getInputFile());
+        assertNotNull(results.get(1).getException());
+    }
+
+    @Test
+    public void convertInChunksMatchesConvert() throws Exception {
+        ConversionService conversionService = new ConversionService();
+
+        File xsl = fileRule.newFile("suites.xsl");
+        File input = fileRule.newFile("suites.xml");
+        try (InputStream xslIS = this.getClass().getResourceAsStream("suites.xsl");
+                InputStream inputIS = this.getClass().getResourceAsStream("suites.xml")) {
+            FileUtils.writeStringToFile(xsl, IOUtils.toString(xslIS, "UTF-8"), "UTF-8");
+            FileUtils.writeStringToFile(input, IOUtils.toString(inputIS, "UTF-8"), "UTF-8");
+        }
+
+        File expected = fileRule.newFile("expected.xml");
+        conversionService.convert(xsl, input, expected, null);
+
+        File actual = fileRule.newFile("actual.xml");
+        conversionService.convertInChunks(xsl, input, actual, "testsuite", 2, null);
+
+        Diff diff = DiffBuilder.compare(Input.fromFile(expected)) //
+                .withTest(Input.fromFile(actual)) //
+                .ignoreWhitespace() //
+                .build();
+        assertFalse(diff.toString(), diff.hasDifferences());
+    }
+
+    @Test
+    public void convertToDocument() throws Exception {
+        ConversionService conversionService = new ConversionService();
+
+        try (InputStream xsl = this.getClass().getResourceAsStream("myex-xml.xsl");
+                InputStream input = this.getClass().getResourceAsStream("myex.xml")) {
+            Document document = conversionService.convertToDocument(new StreamSource(xsl), new InputSource(input), null);
+            assertEquals("root", document.getDocumentElement().getLocalName());
+            assertEquals("val1", document.getDocumentElement().getTextContent());
+        }
+    }
+
+    @Test
+    public void convertAndValidateOutput() throws Exception {
+        ConversionService conversionService = new ConversionService();
+
+        File input = fileRule.newFile("input.xml");
+        try (InputStream is = this.getClass().getResourceAsStream("myex.xml")) {
+            FileUtils.writeStringToFile(input, IOUtils.toString(is, "UTF-8"), "UTF-8");
+        }
+        File output = fileRule.newFile("output.xml");
+
+        List<ValidationError> errors;
+        try (InputStream xsl = this.getClass().getResourceAsStream("myex-xml.xsl");
+                InputStream xsd = this.getClass().getResourceAsStream("myex-outint.xsd")) {
+            errors = conversionService.convertAndValidate(new StreamSource(xsl), input, output, new Source[] { new StreamSource(xsd) }, null);
+        }
+
+        // val1 is not an integer
+        assertFalse(errors.isEmpty());
+        assertThat(FileUtils.readFileToString(output, "UTF-8"), CoreMatchers.containsString("<root>val1</root>"));
+    }
+
+    @Test
+    public void validateAndConvertInput() throws Exception {
+        ConversionService conversionService = new ConversionService();
+
+        File input = fileRule.newFile("input.xml");
+        try (InputStream is = this.getClass().getResourceAsStream("myex.xml")) {
+            FileUtils.writeStringToFile(input, IOUtils.toString(is, "UTF-8"), "UTF-8");
+        }
+
+        File validOutput = new File(fileRule.getRoot(), "valid.xml");
+        try (InputStream xsl = this.getClass().getResourceAsStream("myex-xml.xsl");
+                InputStream xsd = this.getClass().getResourceAsStream("myex.xsd")) {
+            List<ValidationError> errors = conversionService.validateAndConvert(new StreamSource(xsl), input, validOutput, new Source[] { new StreamSource(xsd) }, null, false);
+            assertTrue(errors.toString(), errors.isEmpty());
+        }
+        assertThat(FileUtils.readFileToString(validOutput, "UTF-8"), CoreMatchers.containsString("<root>val1</root>"));
+
+        File invalidOutput = new File(fileRule.getRoot(), "invalid.xml");
+        try (InputStream xsl = this.getClass().getResourceAsStream("myex-xml.xsl");
+                InputStream xsd = this.getClass().getResourceAsStream("myex-outint.xsd")) {
+            List<ValidationError> errors = conversionService.validateAndConvert(new StreamSource(xsl), input, invalidOutput, new Source[] { new StreamSource(xsd) }, null, true);
+            assertFalse(errors.isEmpty());
+        }
+        assertFalse(invalidOutput.exists());
+    }
+
+    @Test
+    public void convertCompressedInputToCompressedOutput() throws Exception {
+        ConversionService conversionService = new ConversionService();
+
+        File input = fileRule.newFile("input.xml");
+        try (InputStream is = this.getClass().getResourceAsStream("myex.xml");
+                OutputStream os = new GZIPOutputStream(new FileOutputStream(input))) {
+            IOUtils.copy(is, os);
+        }
+
+        File output = new File(fileRule.getRoot(), "output.xml.gz");
+        try (InputStream xsl = this.getClass().getResourceAsStream("myex-xml.xsl")) {
+            conversionService.convert(new StreamSource(xsl), input, output, null);
+        }
+
+        try (InputStream os = new GZIPInputStream(new FileInputStream(output));
+                InputStream expectedOutput = this.getClass().getResourceAsStream("myex-outxml.xml")) {
+            assertEquals(IOUtils.toString(expectedOutput, "UTF-8"), IOUtils.toString(os, "UTF-8"));
+        }
+    }
+
+    @Test
+    public void convertPath() throws Exception {
+        ConversionService conversionService = new ConversionService();
+
+        Path input = fileRule.newFile("input.xml").toPath();
+        try (InputStream is = this.getClass().getResourceAsStream("myex.xml")) {
+            Files.copy(is, input, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        Path output = fileRule.getRoot().toPath().resolve("output.xml");
+        try (InputStream xsl = this.getClass().getResourceAsStream("myex-xml.xsl")) {
+            conversionService.convert(new StreamSource(xsl), input, output, null);
+        }
+
+        try (InputStream expectedOutput = this.getClass().getResourceAsStream("myex-outxml.xml")) {
+            assertEquals(IOUtils.toString(expectedOutput, "UTF-8"), new String(Files.readAllBytes(output), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void leanOptionsProduceSameDocumentWithoutIndentation() throws Exception {
+        String indented;
+        try (InputStream xsl = this.getClass().getResourceAsStream("suites.xsl");
+                InputStream input = this.getClass().getResourceAsStream("suites.xml")) {
+            indented = ConversionServiceFactory.getInstance().convertAndReturn(new StreamSource(xsl), new InputSource(input), null);
+        }
+
+        String lean;
+        try (InputStream xsl = this.getClass().getResourceAsStream("suites.xsl");
+                InputStream input = this.getClass().getResourceAsStream("suites.xml")) {
+            lean = ConversionServiceFactory.getInstance(ConversionOptions.lean()).convertAndReturn(new StreamSource(xsl), new InputSource(input), null);
+        }
+
+        assertThat(lean, CoreMatchers.containsString("<report name=\"all\"><suite"));
+        assertTrue(lean.length() < indented.length());
+        Diff diff = DiffBuilder.compare(Input.fromString(indented)) //
+                .withTest(Input.fromString(lean)) //
+                .ignoreWhitespace() //
+                .build();
+        assertFalse(diff.toString(), diff.hasDifferences());
+    }
+
+    @Test
+    public void convertAsync() throws Exception {
+        ConversionService conversionService = new ConversionService();
+
+        File input = fileRule.newFile("input.xml");
+        try (InputStream is = this.getClass().getResourceAsStream("myex.xml")) {
+            FileUtils.writeStringToFile(input, IOUtils.toString(is, "UTF-8"), "UTF-8");
+        }
+
+        CompletableFuture<String> output;
+        try (InputStream xsl = this.getClass().getResourceAsStream("myex-xml.xsl")) {
+            output = conversionService.convertAndReturnAsync(new StreamSource(xsl), input, null);
+        }
+        assertThat(output.get(), CoreMatchers.containsString("<root>val1</root>"));
+
+        try (InputStream xsl = this.getClass().getResourceAsStream("myex-xml.xsl")) {
+            CompletableFuture<Void> failure = conversionService.convertAsync(new StreamSource(xsl), new File(fileRule.getRoot(), "missing.xml"), fileRule.newFile(), null);
+            try {
+                failure.get();
+                fail("the input file does not exist");
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), CoreMatchers.instanceOf(ConversionException.class));
+            }
+        }
+    }
+}
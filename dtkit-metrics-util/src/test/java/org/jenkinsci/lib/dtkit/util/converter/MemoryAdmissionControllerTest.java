@@ -0,0 +1,87 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.converter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.jenkinsci.lib.dtkit.util.converter.MemoryAdmissionController.Permit;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MemoryAdmissionControllerTest {
+
+    @Test
+    public void waitUntilTheCostFitsInTheBudget() throws Exception {
+        final MemoryAdmissionController controller = new MemoryAdmissionController(100, 1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Permit first = controller.acquire(60);
+            Future<Permit> second = executor.submit(() -> controller.acquire(50));
+
+            Thread.sleep(200);
+            assertFalse(second.isDone());
+            assertEquals(60, controller.getReserved());
+
+            first.close();
+            second.get(5, TimeUnit.SECONDS).close();
+            assertEquals(0, controller.getReserved());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void admitAloneAJobBiggerThanTheBudget() throws Exception {
+        MemoryAdmissionController controller = new MemoryAdmissionController(100, 1);
+        try (Permit permit = controller.acquire(1000)) {
+            assertEquals(100, controller.getReserved());
+        }
+        assertEquals(0, controller.getReserved());
+    }
+
+    @Test
+    public void leaveUsageThresholdsOfTheJvmUnchanged() throws Exception {
+        Map<String, Long> thresholds = new HashMap<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.isCollectionUsageThresholdSupported()) {
+                thresholds.put(pool.getName(), pool.getCollectionUsageThreshold());
+            }
+        }
+
+        new MemoryAdmissionController(100, 1).acquire(10).close();
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.isCollectionUsageThresholdSupported()) {
+                assertEquals(pool.getName(), thresholds.get(pool.getName()), Long.valueOf(pool.getCollectionUsageThreshold()));
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import javax.xml.transform.stream.StreamSource;
+import org.jenkinsci.lib.dtkit.util.cache.Digests;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ResourceCacheTest {
+
+    private static final String XSL = "/org/jenkinsci/lib/dtkit/util/converter/myex-xml.xsl";
+
+    @Test
+    public void digestOfUnreadResource() throws Exception {
+        byte[] content;
+        try (InputStream input = getClass().getResourceAsStream(XSL)) {
+            content = Digests.toByteArray(input);
+        }
+
+        StreamSource source = ResourceCache.getSource(getClass(), XSL);
+        assertEquals(getClass().getResource(XSL).toExternalForm(), source.getSystemId());
+        assertEquals(Digests.sha256(content), ResourceCache.getDigest(source));
+        assertEquals(Digests.sha256(content), ResourceCache.getDigest(ResourceCache.getSource(getClass(), XSL)));
+
+        // the digest no longer describes what is left to read
+        source.getInputStream().read();
+        assertNull(ResourceCache.getDigest(source));
+        assertNull(ResourceCache.getDigest(new StreamSource(new ByteArrayInputStream(content), source.getSystemId())));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.validator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CompactErrorListTest {
+
+    @Test
+    public void groupRepeatedErrors() {
+        CompactErrorList errors = new CompactErrorList();
+        for (int line : new int[]{3, 4, 5, 9, 7}) {
+            errors.add(new ValidationError(ErrorType.ERROR, line, "file:/a.xml", new String("invalid value")));
+        }
+        errors.add(new ValidationError(ErrorType.WARNING, 8, "file:/a.xml", "invalid value"));
+
+        assertEquals(6, errors.size());
+        assertEquals(9, errors.get(3).getLine());
+        assertEquals("invalid value", errors.get(3).getMessage());
+
+        List<CompactErrorList.Group> groups = errors.group();
+        assertEquals(2, groups.size());
+        assertEquals(5, groups.get(0).getCount());
+        assertEquals(ErrorType.WARNING, groups.get(1).getType());
+        assertEquals("ERROR file:/a.xml:invalid value (5 times, lines 3-5,7,9)", groups.get(0).toString());
+    }
+
+    @Test
+    public void serialize() throws Exception {
+        CompactErrorList errors = new CompactErrorList();
+        errors.add(new ValidationError(ErrorType.FATAL_ERROR, 1, "file:/a.xml", "broken"));
+
+        CompactErrorList copy = (CompactErrorList) serialize(errors);
+
+        copy.add(new ValidationError(ErrorType.ERROR, 2, "file:/a.xml", "broken"));
+        assertSame(ValidationError.class, serialize(copy.get(0)).getClass());
+        assertEquals(2, copy.size());
+        assertEquals("broken", copy.get(1).getMessage());
+        assertEquals(2, copy.group().size());
+    }
+
+    @Test
+    public void changeLikeAnArrayList() {
+        CompactErrorList errors = new CompactErrorList();
+        for (int line = 1; line <= 6; line++) {
+            errors.add(new ValidationError(ErrorType.ERROR, line, "file:/a.xml", "invalid value"));
+        }
+
+        errors.add(0, new ValidationError(ErrorType.WARNING, 0, "file:/a.xml", "first"));
+        assertEquals("invalid value", errors.remove(1).getMessage());
+        errors.removeIf(error -> error.getLine() == 4);
+        for (Iterator<ValidationError> it = errors.iterator(); it.hasNext(); ) {
+            if (it.next().getLine() == 2) {
+                it.remove();
+            }
+        }
+        errors.subList(3, 4).clear();
+
+        assertEquals(3, errors.size());
+        assertEquals("first", errors.get(0).getMessage());
+        assertEquals(3, errors.get(1).getLine());
+        assertEquals(5, errors.get(2).getLine());
+    }
+
+    @Test
+    public void writeChangesOfAnErrorToTheList() {
+        CompactErrorList errors = new CompactErrorList();
+        errors.add(new ValidationError(ErrorType.ERROR, 1, "file:/a.xml", "invalid value"));
+
+        ValidationError error = errors.get(0);
+        error.setMessage("changed");
+        error.setLine(5);
+        error.setType(null);
+
+        assertEquals("changed", errors.get(0).getMessage());
+        assertEquals(5, errors.get(0).getLine());
+        assertNull(errors.get(0).getType());
+        assertEquals(errors.get(0), errors.get(0));
+        assertEquals(0, errors.indexOf(error));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void rejectChangesOfAnErrorAfterARemove() {
+        CompactErrorList errors = new CompactErrorList();
+        errors.add(new ValidationError(ErrorType.ERROR, 1, "file:/a.xml", "first"));
+        errors.add(new ValidationError(ErrorType.ERROR, 2, "file:/a.xml", "second"));
+
+        ValidationError error = errors.get(1);
+        errors.remove(0);
+        error.setMessage("changed");
+    }
+
+    @Test
+    public void keepErrorsWithoutType() {
+        CompactErrorList errors = new CompactErrorList();
+        errors.add(new ValidationError(null, 1, "file:/a.xml", "no type"));
+
+        assertNull(errors.get(0).getType());
+        assertNull(errors.group().get(0).getType());
+    }
+
+    private static Object serialize(Object object) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.validator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CountingErrorListenerTest {
+
+    @Test
+    public void countErrorsByType() {
+        CountingErrorListener listener = new CountingErrorListener();
+        listener.onError(new ValidationError(ErrorType.FATAL_ERROR, 1, "file:/a.xml", "fatal"));
+        listener.onError(new ValidationError(ErrorType.ERROR, 2, "file:/a.xml", "error"));
+        listener.onError(new ValidationError(ErrorType.ERROR, 3, "file:/a.xml", "error"));
+        listener.onError(new ValidationError(ErrorType.WARNING, 4, "file:/a.xml", "warning"));
+
+        assertEquals(1, listener.getCount(ErrorType.FATAL_ERROR));
+        assertEquals(2, listener.getCount(ErrorType.ERROR));
+        assertEquals(1, listener.getCount(ErrorType.WARNING));
+        assertEquals(4, listener.getTotal());
+    }
+
+    @Test
+    public void countErrorsWithoutType() {
+        CountingErrorListener listener = new CountingErrorListener();
+        listener.onError(new ValidationError(null, 1, "file:/a.xml", "no type"));
+        listener.onError(new ValidationError(ErrorType.ERROR, 2, "file:/a.xml", "error"));
+
+        assertEquals(1, listener.getCount(null));
+        assertEquals(1, listener.getCount(ErrorType.ERROR));
+        assertEquals(2, listener.getTotal());
+
+        listener.reset();
+        assertEquals(0, listener.getCount(null));
+        assertEquals(0, listener.getTotal());
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.validator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LoggingErrorListenerTest {
+
+    private final List<LogRecord> records = new ArrayList<>();
+
+    private Logger logger;
+
+    private Handler handler;
+
+    private volatile CountDownLatch logging;
+
+    private volatile CountDownLatch release;
+
+    @Before
+    public void setUp() {
+        logger = Logger.getLogger(LoggingErrorListenerTest.class.getName());
+        logger.setUseParentHandlers(false);
+        handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                synchronized (records) {
+                    records.add(record);
+                }
+                if (release != null) {
+                    // holds the writer thread
+                    logging.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        logger.addHandler(handler);
+    }
+
+    @After
+    public void tearDown() {
+        logger.removeHandler(handler);
+        logger.setUseParentHandlers(true);
+    }
+
+    @Test
+    public void logQueuedErrorsOnClose() throws Exception {
+        LoggingErrorListener listener = new LoggingErrorListener(logger);
+        listener.onError(new ValidationError(ErrorType.FATAL_ERROR, 1, "file:/a.xml", "fatal"));
+        listener.onError(new ValidationError(ErrorType.ERROR, 2, "file:/a.xml", "error"));
+        listener.onError(new ValidationError(ErrorType.WARNING, 3, "file:/a.xml", "warning"));
+        listener.close();
+
+        // close waits for the queued errors
+        assertEquals(3, records.size());
+        assertEquals(Level.SEVERE, records.get(0).getLevel());
+        assertEquals(Level.WARNING, records.get(1).getLevel());
+        assertEquals(Level.INFO, records.get(2).getLevel());
+        assertArrayEquals(new Object[]{"file:/a.xml", "2", "error"}, records.get(1).getParameters());
+        assertEquals(0, listener.getDroppedCount());
+    }
+
+    @Test
+    public void dropErrorsWhenTheQueueIsFull() throws Exception {
+        logging = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        LoggingErrorListener listener = new LoggingErrorListener(logger, 1);
+
+        listener.onError(new ValidationError(ErrorType.ERROR, 1, "file:/a.xml", "logged"));
+        logging.await();
+        // the writer is held, the next error fills the queue
+        listener.onError(new ValidationError(ErrorType.ERROR, 2, "file:/a.xml", "queued"));
+        listener.onError(new ValidationError(ErrorType.ERROR, 3, "file:/a.xml", "dropped"));
+        release.countDown();
+        listener.close();
+
+        assertEquals(2, records.size());
+        assertEquals("queued", records.get(1).getParameters()[2]);
+        assertEquals(1, listener.getDroppedCount());
+    }
+
+    @Test
+    public void ignoreErrorsNotLoggable() throws Exception {
+        logger.setLevel(Level.WARNING);
+        try {
+            LoggingErrorListener listener = new LoggingErrorListener(logger);
+            listener.onError(new ValidationError(ErrorType.WARNING, 1, "file:/a.xml", "warning"));
+            listener.close();
+
+            assertTrue(records.isEmpty());
+            assertEquals(0, listener.getDroppedCount());
+        } finally {
+            logger.setLevel(null);
+        }
+    }
+
+    @Test
+    public void countErrorsReceivedAfterClose() throws Exception {
+        LoggingErrorListener listener = new LoggingErrorListener(logger);
+        listener.onError(new ValidationError(ErrorType.ERROR, 1, "file:/a.xml", "logged"));
+        listener.close();
+        listener.onError(new ValidationError(ErrorType.ERROR, 2, "file:/a.xml", "dropped"));
+
+        assertEquals(1, records.size());
+        assertEquals(1, listener.getDroppedCount());
+    }
+
+    @Test
+    public void logErrorsWithoutTypeAsWarning() throws Exception {
+        LoggingErrorListener listener = new LoggingErrorListener(logger);
+        listener.onError(new ValidationError(null, 1, "file:/a.xml", "no type"));
+        listener.close();
+
+        assertEquals(1, records.size());
+        assertEquals(Level.WARNING, records.get(0).getLevel());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.validator;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class SchemaCacheTest {
+
+    private static final String STRING_SCHEMA = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\"><xs:element name=\"a\" type=\"xs:string\"/></xs:schema>";
+
+    private static final String INT_SCHEMA = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\"><xs:element name=\"a\" type=\"xs:int\"/></xs:schema>";
+
+    private static final String INCLUDING_SCHEMA = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\"><xs:include schemaLocation=\"part.xsd\"/><xs:element name=\"a\" type=\"aType\"/></xs:schema>";
+
+    @Rule
+    public TemporaryFolder fileRule = new TemporaryFolder();
+
+    @After
+    public void reset() {
+        ValidationServiceFactory.reset();
+    }
+
+    @Test
+    public void recompileModifiedSchemaFile() throws Exception {
+        File xsd = fileRule.newFile("schema.xsd");
+        File input = fileRule.newFile("input.xml");
+        Files.write(input.toPath(), "<a>text</a>".getBytes(StandardCharsets.UTF_8));
+        ValidationService service = ValidationServiceFactory.getInstance();
+
+        Files.write(xsd.toPath(), STRING_SCHEMA.getBytes(StandardCharsets.UTF_8));
+        assertTrue(service.processValidation(new File[]{xsd}, input).isEmpty());
+        assertTrue(service.processValidation(new File[]{xsd}, input).isEmpty());
+
+        Files.write(xsd.toPath(), INT_SCHEMA.getBytes(StandardCharsets.UTF_8));
+        assertTrue(xsd.setLastModified(xsd.lastModified() + 2000));
+        assertFalse(service.processValidation(new File[]{xsd}, input).isEmpty());
+    }
+
+    @Test
+    public void recompileWhenIncludedSchemaChanges() throws Exception {
+        File xsd = fileRule.newFile("schema.xsd");
+        File part = new File(fileRule.getRoot(), "part.xsd");
+        File input = fileRule.newFile("input.xml");
+        Files.write(xsd.toPath(), INCLUDING_SCHEMA.getBytes(StandardCharsets.UTF_8));
+        Files.write(input.toPath(), "<a>text</a>".getBytes(StandardCharsets.UTF_8));
+        ValidationService service = ValidationServiceFactory.getInstance();
+
+        // the included schema is missing, the type of the element is unknown
+        assertFalse(service.processValidation(new File[]{xsd}, input).isEmpty());
+
+        Files.write(part.toPath(), partSchema("xs:string").getBytes(StandardCharsets.UTF_8));
+        assertTrue(service.processValidation(new File[]{xsd}, input).isEmpty());
+
+        long lastModified = xsd.lastModified();
+        Files.write(part.toPath(), partSchema("xs:int").getBytes(StandardCharsets.UTF_8));
+        assertTrue(part.setLastModified(part.lastModified() + 2000));
+        assertFalse(service.processValidation(new File[]{xsd}, input).isEmpty());
+        assertEquals(lastModified, xsd.lastModified());
+    }
+
+    @Test
+    public void reuseValidatorWithoutErrorsOfPreviousDocument() throws Exception {
+        File xsd = fileRule.newFile("schema.xsd");
+        Files.write(xsd.toPath(), INT_SCHEMA.getBytes(StandardCharsets.UTF_8));
+        File invalid = fileRule.newFile("invalid.xml");
+        Files.write(invalid.toPath(), "<a>text</a>".getBytes(StandardCharsets.UTF_8));
+        File valid = fileRule.newFile("valid.xml");
+        Files.write(valid.toPath(), "<a>1</a>".getBytes(StandardCharsets.UTF_8));
+        ValidationService service = ValidationServiceFactory.getInstance();
+
+        for (int i = 0; i < 3; i++) {
+            assertFalse(service.processValidation(new File[]{xsd}, invalid).isEmpty());
+            assertTrue(service.processValidation(new File[]{xsd}, valid).isEmpty());
+        }
+    }
+
+    @Test
+    public void reportCompilationErrorsOfCachedSchema() throws Exception {
+        File input = fileRule.newFile("input.xml");
+        Files.write(input.toPath(), "<a>text</a>".getBytes(StandardCharsets.UTF_8));
+        ValidationService service = ValidationServiceFactory.getInstance();
+
+        List<ValidationError> first = service.processValidation(new Source[]{invalidSchema()}, input);
+        List<ValidationError> second = service.processValidation(new Source[]{invalidSchema()}, input);
+        assertFalse(first.isEmpty());
+        assertEquals(first.size(), second.size());
+        assertEquals(first.get(0).getMessage(), second.get(0).getMessage());
+    }
+
+    private static Source invalidSchema() {
+        String xsd = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\"><xs:element name=\"a\" type=\"unknown\"/></xs:schema>";
+        return new StreamSource(new ByteArrayInputStream(xsd.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String partSchema(String base) {
+        return "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\"><xs:simpleType name=\"aType\"><xs:restriction base=\"" + base + "\"/></xs:simpleType></xs:schema>";
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.validator;
+
+import java.util.List;
+import org.junit.Test;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import static org.junit.Assert.*;
+
+public class ValidationHandlerTest {
+
+    private static SAXParseException parseError(String message, int line) {
+        return new SAXParseException(message, null, "file:/input.xml", line, 1);
+    }
+
+    @Test
+    public void recordErrorsWithinPolicyLimit() throws Exception {
+        CollectingErrorListener listener = new CollectingErrorListener();
+        ValidationHandler handler = new ValidationHandler(ValidationPolicy.countAfter(2), listener);
+
+        handler.error(parseError("first", 1));
+        handler.warning(parseError("second", 2));
+        handler.error(parseError("third", 3));
+        handler.addError(new ValidationError(ErrorType.ERROR, -1, "-1", "I/O error"));
+
+        List<ValidationError> errors = handler.getErrors();
+        assertEquals(3, errors.size());
+        assertEquals("first", errors.get(0).getMessage());
+        assertEquals("second", errors.get(1).getMessage());
+        assertEquals(ValidationHandler.DROPPED_ERRORS_ID, errors.get(2).getErrorId());
+        assertEquals("2 more errors not recorded", errors.get(2).getMessage());
+        assertEquals(2, handler.getDroppedCount());
+        // the I/O error is not an error of the document
+        assertEquals(2, handler.getErrorCount());
+        assertEquals(4, listener.getErrors().size());
+    }
+
+    @Test
+    public void addErrorsOfAnotherHandlerWithoutNotifyingAgain() throws Exception {
+        ValidationHandler schemaHandler = new ValidationHandler(ValidationPolicy.countAfter(1));
+        schemaHandler.error(parseError("schema error", 1));
+        schemaHandler.error(parseError("other schema error", 2));
+
+        CollectingErrorListener listener = new CollectingErrorListener();
+        ValidationHandler handler = new ValidationHandler(ValidationPolicy.countAfter(1), listener);
+        handler.addErrors(schemaHandler);
+        handler.error(parseError("document error", 1));
+
+        List<ValidationError> errors = handler.getErrors();
+        assertEquals(2, errors.size());
+        assertEquals("schema error", errors.get(0).getMessage());
+        assertEquals("2 more errors not recorded", errors.get(1).getMessage());
+        assertEquals(2, handler.getDroppedCount());
+        assertEquals(1, listener.getErrors().size());
+    }
+
+    @Test
+    public void noSummaryWhenAllErrorsAreRecorded() throws Exception {
+        ValidationHandler handler = new ValidationHandler();
+        handler.error(parseError("error", 1));
+
+        assertEquals(1, handler.getErrors().size());
+        assertEquals(0, handler.getDroppedCount());
+    }
+
+    @Test
+    public void markTheStopWithoutCountingIt() throws Exception {
+        CountingErrorListener listener = new CountingErrorListener();
+        ValidationHandler handler = new ValidationHandler(ValidationPolicy.stopAfter(2), listener);
+
+        handler.error(parseError("first", 1));
+        assertFalse(handler.isStopped());
+        try {
+            handler.error(parseError("second", 2));
+            fail("the validation should stop");
+        } catch (SAXException e) {
+            assertEquals("Validation stopped after 2 errors", e.getMessage());
+        }
+
+        List<ValidationError> errors = handler.getErrors();
+        assertTrue(handler.isStopped());
+        assertEquals(3, errors.size());
+        assertEquals(ValidationHandler.STOPPED_ID, errors.get(2).getErrorId());
+        assertEquals(2, handler.getErrorCount());
+        assertEquals(2, listener.getTotal());
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026, DTKit contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.lib.dtkit.util.validator;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class ValidationServiceTest {
+
+    @Rule
+    public TemporaryFolder fileRule = new TemporaryFolder();
+
+    @Test
+    public void validateAll() throws Exception {
+        File valid = fileRule.newFile("valid.xml");
+        Files.write(valid.toPath(), "<a>1</a>".getBytes(StandardCharsets.UTF_8));
+        File invalid = fileRule.newFile("invalid.xml");
+        Files.write(invalid.toPath(), "<a>text</a>".getBytes(StandardCharsets.UTF_8));
+        File missing = new File(fileRule.getRoot(), "missing.xml");
+
+        String xsd = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\"><xs:element name=\"a\" type=\"xs:int\"/></xs:schema>";
+        Source[] sources = {new StreamSource(new ByteArrayInputStream(xsd.getBytes(StandardCharsets.UTF_8)))};
+        Map<File, List<ValidationError>> results = ValidationServiceFactory.getInstance().processValidationAll(sources, Arrays.asList(valid, invalid, missing));
+
+        assertEquals(Arrays.asList(valid, invalid, missing), Arrays.asList(results.keySet().toArray()));
+        assertTrue(results.get(valid).isEmpty());
+        assertFalse(results.get(invalid).isEmpty());
+        assertEquals(1, results.get(missing).size());
+    }
+
+    @Test
+    public void stopAfterMaxErrors() throws Exception {
+        File input = manyInvalidElements(100);
+        List<ValidationError> errors = ValidationServiceFactory.getInstance(ValidationPolicy.failFast()).processValidation(intSchema(), input);
+
+        // the error and the reason why the validation stopped
+        assertEquals(2, errors.size());
+        assertEquals(ErrorType.ERROR, errors.get(0).getType());
+        assertEquals(ValidationHandler.STOPPED_ID, errors.get(1).getErrorId());
+    }
+
+    @Test
+    public void countErrorsAfterMaxRecordedErrors() throws Exception {
+        File input = manyInvalidElements(100);
+        List<ValidationError> all = ValidationServiceFactory.getInstance().processValidation(intSchema(), input);
+        List<ValidationError> errors = ValidationServiceFactory.getInstance(ValidationPolicy.countAfter(10)).processValidation(intSchema(), input);
+
+        assertEquals(11, errors.size());
+        assertEquals(ValidationHandler.DROPPED_ERRORS_ID, errors.get(10).getErrorId());
+        assertEquals((all.size() - 10) + " more errors not recorded", errors.get(10).getMessage());
+    }
+
+    @Test
+    public void listenersReceiveErrorsNotRecorded() throws Exception {
+        File input = manyInvalidElements(100);
+        ValidationService service = ValidationServiceFactory.getInstance(ValidationPolicy.countAfter(10));
+        CollectingErrorListener collecting = new CollectingErrorListener();
+        CountingErrorListener counting = new CountingErrorListener();
+        service.addErrorListener(collecting);
+        service.addErrorListener(counting);
+
+        service.processValidation(intSchema(), input);
+
+        assertEquals(200, collecting.getErrors().size());
+        assertEquals(200, counting.getCount(ErrorType.ERROR));
+        assertEquals(200, counting.getTotal());
+    }
+
+    @Test
+    public void listenersDoNotReceiveTheStop() throws Exception {
+        File input = manyInvalidElements(100);
+        ValidationService service = ValidationServiceFactory.getInstance(ValidationPolicy.stopAfter(20).withMaxRecordedErrors(5));
+        CollectingErrorListener collecting = new CollectingErrorListener();
+        service.addErrorListener(collecting);
+
+        List<ValidationError> errors = service.processValidation(intSchema(), input);
+
+        // 5 errors, the dropped errors and the stop are recorded, the listener receives the 20 errors
+        assertEquals(7, errors.size());
+        assertEquals(ValidationHandler.STOPPED_ID, errors.get(6).getErrorId());
+        assertEquals(20, collecting.getErrors().size());
+        for (ValidationError error : collecting.getErrors()) {
+            assertEquals(ErrorType.ERROR, error.getType());
+            assertTrue(error.getLine() > 0);
+        }
+    }
+
+    @Test
+    public void listenersReceiveTheErrorsOfEachFileOnce() throws Exception {
+        File invalid1 = write("invalid1.xml", "<a>text</a>");
+        File invalid2 = write("invalid2.xml", "<a>text</a>");
+        ValidationService service = ValidationServiceFactory.getInstance();
+        CountingErrorListener counting = new CountingErrorListener();
+        service.addErrorListener(counting);
+
+        Map<File, List<ValidationError>> results = service.processValidationAll(new Source[]{invalidSchema()}, Arrays.asList(invalid1, invalid2));
+
+        // the XSD errors are recorded for each file but sent once to the listener
+        int schemaErrors = ValidationServiceFactory.getInstance().compile(new Source[]{invalidSchema()}).size();
+        int documentErrors = results.get(invalid1).size() - schemaErrors;
+        assertTrue(schemaErrors > 0);
+        assertTrue(documentErrors > 0);
+        assertEquals(results.get(invalid1).size(), results.get(invalid2).size());
+        assertEquals(schemaErrors + 2 * documentErrors, counting.getTotal());
+    }
+
+    @Test
+    public void rejectFilesThatAreNotXmlDocuments() throws Exception {
+        ValidationService service = ValidationServiceFactory.getInstance();
+        assertTrue(service.checkWellFormedness(write("valid.xml", "\uFEFF<?xml version=\"1.0\"?>\n<a>1</a>\n")).isEmpty());
+        assertEquals(1, service.checkWellFormedness(write("empty.xml", " \n")).size());
+        assertEquals(1, service.checkWellFormedness(write("text.xml", "Segmentation fault")).size());
+        assertEquals(1, service.checkWellFormedness(write("truncated.xml", "<list><a>1</a><a>")).size());
+        assertEquals(1, service.checkWellFormedness(write("truncated-text.xml", "<list><a>1</a><a>12")).size());
+    }
+
+    @Test
+    public void acceptDocumentsEndingWithMarkupThatContainsLessThan() throws Exception {
+        ValidationService service = ValidationServiceFactory.getInstance();
+        assertTrue(service.checkWellFormedness(write("comment.xml", "<a>1</a>\n<!-- a < b -->\n")).isEmpty());
+        assertTrue(service.checkWellFormedness(write("pi.xml", "<a>1</a><?check a < b?>")).isEmpty());
+        File utf16 = fileRule.newFile("utf16.xml");
+        Files.write(utf16.toPath(), "<a>1</a><!-- a < b -->".getBytes(StandardCharsets.UTF_16LE));
+        assertTrue(service.checkWellFormedness(utf16).isEmpty());
+        assertEquals(1, service.checkWellFormedness(write("open-comment.xml", "<a>1</a><!-- a < b")).size());
+    }
+
+    @Test
+    public void checkWellFormednessBeforeValidation() throws Exception {
+        File truncated = write("truncated.xml", "<list><a>1</a><a");
+        List<ValidationError> errors = ValidationServiceFactory.getInstance(ValidationPolicy.unlimited().withWellFormednessCheck(true)).processValidation(intSchema(), truncated);
+
+        assertEquals(1, errors.size());
+        assertEquals(ErrorType.FATAL_ERROR, errors.get(0).getType());
+    }
+
+    private File write(String name, String content) throws Exception {
+        File file = fileRule.newFile(name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private File manyInvalidElements(int count) throws Exception {
+        StringBuilder sb = new StringBuilder("<list>");
+        for (int i = 0; i < count; i++) {
+            sb.append("\n<a>text</a>");
+        }
+        sb.append("</list>");
+        File input = fileRule.newFile("input.xml");
+        Files.write(input.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+        return input;
+    }
+
+    private static Source intSchema() {
+        String xsd = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\"><xs:element name=\"list\"><xs:complexType><xs:sequence>"
+                + "<xs:element name=\"a\" type=\"xs:int\" maxOccurs=\"unbounded\"/></xs:sequence></xs:complexType></xs:element></xs:schema>";
+        return new StreamSource(new ByteArrayInputStream(xsd.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Source invalidSchema() {
+        String xsd = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\"><xs:element name=\"a\" type=\"xs:int\"/>"
+                + "<xs:element name=\"b\" type=\"unknown\"/></xs:schema>";
+        return new StreamSource(new ByteArrayInputStream(xsd.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,14 @@
+<?xml version="1.0" encoding="UTF-8"?>
+<xsl:stylesheet version="2.0" xmlns:xsl="http://www.w3.org/1999/XSL/Transform">
+
+    <xsl:include href="myex-name.xsl"/>
+
+    <xsl:output method="xml" version="1.0" encoding="UTF-8" indent="yes"/>
+
+    <xsl:template match="myex">
+        <xsl:element name="{$name}">
+            <xsl:value-of select="@attr1"/>
+        </xsl:element>
+    </xsl:template>
+
+</xsl:stylesheet>
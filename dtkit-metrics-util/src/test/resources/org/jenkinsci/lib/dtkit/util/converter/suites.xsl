@@ -0,0 +1,17 @@
+<?xml version="1.0" encoding="UTF-8"?>
+<xsl:stylesheet version="2.0" xmlns:xsl="http://www.w3.org/1999/XSL/Transform"
+        >
+
+    <xsl:output method="xml" version="1.0" encoding="UTF-8" indent="yes"/>
+
+    <xsl:template match="testsuites">
+        <report name="{@name}">
+            <xsl:apply-templates select="testsuite"/>
+        </report>
+    </xsl:template>
+
+    <xsl:template match="testsuite">
+        <suite name="{@name}" tests="{count(testcase)}"/>
+    </xsl:template>
+
+</xsl:stylesheet>